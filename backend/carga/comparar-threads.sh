@@ -0,0 +1,23 @@
+#!/usr/bin/env bash
+# Compara a aplicação com threads de plataforma (pool do Tomcat) e com threads virtuais usando o teste de
+# carga do perfil "carga" (src/carga/java, TesteCarga): a mesma mistura de cenários e a mesma semente nas
+# duas execuções, mudando só spring.threads.virtual.enabled. Por padrão usa o banco de application.properties
+# (DB_USER/DB_PASS), com o cache das listagens desligado para que toda listagem chegue ao banco.
+#
+# Uso: carga/comparar-threads.sh [clientes=400] [segundos=30] [eventos=5000]
+# Variáveis: BANCO (postgresql ou h2), TOMCAT_THREADS (200), DB_POOL_SIZE (20)
+# Relatórios em target/carga/threads-virtual-false.json e target/carga/threads-virtual-true.json
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+CLIENTES=${1:-400}
+SEGUNDOS=${2:-30}
+EVENTOS=${3:-5000}
+BANCO=${BANCO:-postgresql}
+
+for virtual in false true; do
+  echo "== spring.threads.virtual.enabled=$virtual"
+  sh ./mvnw -q -P carga verify -Dcarga.args="--banco=$BANCO --clientes=$CLIENTES --segundos=$SEGUNDOS \
+--eventos=$EVENTOS --saida=target/carga/threads-virtual-$virtual.json \
+--spring.threads.virtual.enabled=$virtual --app.eventos.cache.tamanho-maximo=0B"
+done
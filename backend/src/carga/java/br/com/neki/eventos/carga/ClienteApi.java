@@ -0,0 +1,171 @@
+package br.com.neki.eventos.carga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+// Chamadas HTTP à API usadas na preparação dos dados e nos cenários. Cada chamada é cronometrada
+// e registrada nas estatísticas com o nome do endpoint (com {id} no lugar dos identificadores).
+final class ClienteApi {
+
+    static final String LOGIN = "POST /auth/login";
+    static final String LISTAR_ADMINISTRADOR = "GET /eventos/admin/{id}";
+    static final String LISTAR_TODOS = "GET /eventos";
+    static final String IMAGEM = "GET /eventos/{id}/imagem";
+    static final String CRIAR = "POST /eventos/url";
+    static final String ATUALIZAR = "PUT /eventos/{id}";
+
+    private final String base;
+    private final HttpClient http;
+    private final ObjectMapper objectMapper;
+    private final Estatisticas estatisticas;
+
+    ClienteApi(String base, ObjectMapper objectMapper, Estatisticas estatisticas) {
+        this.base = base;
+        this.objectMapper = objectMapper;
+        this.estatisticas = estatisticas;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    Long registrar(String nome, String email, String senha) throws Exception {
+        JsonNode admin = json(enviar("POST /auth/register", post("/auth/register", Map.of("nome", nome, "email", email, "senha", senha))));
+        return admin.get("id").asLong();
+    }
+
+    // Devolve o access token, ou null se o login não foi aceito
+    String login(String email, String senha) throws Exception {
+        HttpResponse<byte[]> resposta = enviar(LOGIN, post("/auth/login", Map.of("email", email, "senha", senha)));
+        return resposta.statusCode() == 200 ? json(resposta).get("token").asText() : null;
+    }
+
+    int listarDoAdministrador(String token, Long administradorId) throws Exception {
+        return enviar(LISTAR_ADMINISTRADOR, get("/eventos/admin/" + administradorId, token)).statusCode();
+    }
+
+    int listarTodos(String token, LocalDateTime de) throws Exception {
+        return enviar(LISTAR_TODOS, get("/eventos?tamanho=20&from=" + de, token)).statusCode();
+    }
+
+    int baixarImagem(String token, Long eventoId) throws Exception {
+        return enviar(IMAGEM, get("/eventos/" + eventoId + "/imagem?size=card", token)).statusCode();
+    }
+
+    int criar(String token, Long administradorId, String nome, LocalDateTime data, String localizacao) throws Exception {
+        HttpRequest requisicao = autenticada(post("/eventos/url", Map.of(
+                "nome", nome, "data", data.toString(), "localizacao", localizacao,
+                "administradorId", administradorId)), token);
+        return enviar(CRIAR, requisicao).statusCode();
+    }
+
+    int atualizar(String token, Long eventoId, LocalDateTime data, String localizacao) throws Exception {
+        HttpRequest requisicao = HttpRequest.newBuilder(URI.create(base + "/eventos/" + eventoId))
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + token)
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(
+                        Map.of("data", data.toString(), "localizacao", localizacao))))
+                .build();
+        return enviar(ATUALIZAR, requisicao).statusCode();
+    }
+
+    // Upload de evento com imagem (multipart com as partes "dados" e "imagem"); devolve o id do evento
+    Long criarComImagem(String token, Long administradorId, String nome, LocalDateTime data,
+                        String localizacao, byte[] jpeg) throws Exception {
+        String fronteira = "----carga" + UUID.randomUUID();
+        byte[] dados = objectMapper.writeValueAsBytes(Map.of(
+                "nome", nome, "data", data.toString(), "localizacao", localizacao, "administradorId", administradorId));
+
+        ByteArrayOutputStream corpo = new ByteArrayOutputStream();
+        corpo.write(("--" + fronteira + "\r\nContent-Disposition: form-data; name=\"dados\"\r\n"
+                + "Content-Type: application/json\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        corpo.write(dados);
+        corpo.write(("\r\n--" + fronteira + "\r\nContent-Disposition: form-data; name=\"imagem\"; filename=\"evento.jpg\"\r\n"
+                + "Content-Type: image/jpeg\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        corpo.write(jpeg);
+        corpo.write(("\r\n--" + fronteira + "--\r\n").getBytes(StandardCharsets.UTF_8));
+
+        HttpRequest requisicao = HttpRequest.newBuilder(URI.create(base + "/eventos/upload"))
+                .header("Content-Type", "multipart/form-data; boundary=" + fronteira)
+                .header("Authorization", "Bearer " + token)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(corpo.toByteArray()))
+                .build();
+        return json(exigirSucesso(enviar("POST /eventos/upload", requisicao))).get("id").asLong();
+    }
+
+    void importar(String token, String ndjson) throws Exception {
+        HttpRequest requisicao = HttpRequest.newBuilder(URI.create(base + "/eventos/import"))
+                .header("Content-Type", "application/x-ndjson")
+                .header("Authorization", "Bearer " + token)
+                .POST(HttpRequest.BodyPublishers.ofString(ndjson))
+                .build();
+        exigirSucesso(enviar("POST /eventos/import", requisicao));
+    }
+
+    // Ids dos eventos do administrador, na ordem da listagem
+    long[] idsDoAdministrador(String token, Long administradorId) throws Exception {
+        JsonNode eventos = json(exigirSucesso(enviar(LISTAR_ADMINISTRADOR, get("/eventos/admin/" + administradorId, token))));
+        long[] ids = new long[eventos.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = eventos.get(i).get("id").asLong();
+        }
+        return ids;
+    }
+
+    private HttpResponse<byte[]> enviar(String endpoint, HttpRequest requisicao) throws Exception {
+        long inicio = System.nanoTime();
+        try {
+            HttpResponse<byte[]> resposta = http.send(requisicao, HttpResponse.BodyHandlers.ofByteArray());
+            estatisticas.registrar(endpoint, System.nanoTime() - inicio, resposta.statusCode());
+            return resposta;
+        } catch (Exception e) {
+            estatisticas.registrar(endpoint, System.nanoTime() - inicio, -1);
+            throw e;
+        }
+    }
+
+    private HttpRequest post(String caminho, Object corpo) throws Exception {
+        return HttpRequest.newBuilder(URI.create(base + caminho))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(corpo)))
+                .timeout(Duration.ofSeconds(30))
+                .build();
+    }
+
+    private HttpRequest get(String caminho, String token) {
+        return HttpRequest.newBuilder(URI.create(base + caminho))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    private static HttpRequest autenticada(HttpRequest requisicao, String token) {
+        return HttpRequest.newBuilder(requisicao, (nome, valor) -> true)
+                .header("Authorization", "Bearer " + token)
+                .build();
+    }
+
+    private static HttpResponse<byte[]> exigirSucesso(HttpResponse<byte[]> resposta) {
+        if (resposta.statusCode() != 200) {
+            throw new IllegalStateException(resposta.request().method() + " " + resposta.uri().getPath()
+                    + " respondeu " + resposta.statusCode() + ": " + new String(resposta.body(), StandardCharsets.UTF_8));
+        }
+        return resposta;
+    }
+
+    private JsonNode json(HttpResponse<byte[]> resposta) throws Exception {
+        return objectMapper.readTree(exigirSucesso(resposta).body());
+    }
+}
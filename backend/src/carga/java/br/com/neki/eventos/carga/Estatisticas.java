@@ -0,0 +1,115 @@
+package br.com.neki.eventos.carga;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Latências por endpoint durante a medição (o aquecimento não entra). Guarda todas as amostras
+// e calcula os percentis no final: uma execução de alguns minutos cabe com folga na memória.
+final class Estatisticas {
+
+    private final Map<String, Amostras> porEndpoint = new ConcurrentHashMap<>();
+    private volatile boolean medindo;
+    private long inicioNanos;
+    private long fimNanos;
+
+    void iniciarMedicao() {
+        porEndpoint.clear();
+        inicioNanos = System.nanoTime();
+        medindo = true;
+    }
+
+    void encerrarMedicao() {
+        medindo = false;
+        fimNanos = System.nanoTime();
+    }
+
+    // status -1: a requisição não chegou a ter resposta (conexão recusada, timeout)
+    void registrar(String endpoint, long nanos, int status) {
+        if (medindo) {
+            porEndpoint.computeIfAbsent(endpoint, e -> new Amostras()).adicionar(nanos, status);
+        }
+    }
+
+    double segundosMedidos() {
+        return (fimNanos - inicioNanos) / 1e9;
+    }
+
+    // Uma linha por endpoint, em ordem alfabética, mais o total
+    List<Map<String, Object>> resumo() {
+        double segundos = segundosMedidos();
+        List<Map<String, Object>> linhas = new ArrayList<>();
+        Amostras total = new Amostras();
+        new TreeMap<>(porEndpoint).forEach((endpoint, amostras) -> {
+            linhas.add(amostras.resumir(endpoint, segundos));
+            total.incorporar(amostras);
+        });
+        linhas.add(total.resumir("TOTAL", segundos));
+        return linhas;
+    }
+
+    private static final class Amostras {
+        private long[] latencias = new long[1024];
+        private int quantidade;
+        private final Map<Integer, Integer> status = new TreeMap<>();
+
+        synchronized void adicionar(long nanos, int codigo) {
+            adicionarLatencia(nanos);
+            status.merge(codigo, 1, Integer::sum);
+        }
+
+        synchronized void incorporar(Amostras outras) {
+            synchronized (outras) {
+                for (int i = 0; i < outras.quantidade; i++) {
+                    adicionarLatencia(outras.latencias[i]);
+                }
+                outras.status.forEach((codigo, n) -> status.merge(codigo, n, Integer::sum));
+            }
+        }
+
+        private void adicionarLatencia(long nanos) {
+            if (quantidade == latencias.length) {
+                latencias = Arrays.copyOf(latencias, quantidade * 2);
+            }
+            latencias[quantidade++] = nanos;
+        }
+
+        synchronized Map<String, Object> resumir(String endpoint, double segundos) {
+            long[] ordenadas = Arrays.copyOf(latencias, quantidade);
+            Arrays.sort(ordenadas);
+            long erros = status.entrySet().stream()
+                    .filter(e -> e.getKey() < 200 || e.getKey() >= 400)
+                    .mapToLong(Map.Entry::getValue)
+                    .sum();
+
+            Map<String, Object> linha = new LinkedHashMap<>();
+            linha.put("endpoint", endpoint);
+            linha.put("requisicoes", quantidade);
+            linha.put("erros", erros);
+            linha.put("vazao", arredondar(quantidade / segundos));
+            linha.put("p50", percentil(ordenadas, 50));
+            linha.put("p95", percentil(ordenadas, 95));
+            linha.put("p99", percentil(ordenadas, 99));
+            linha.put("max", percentil(ordenadas, 100));
+            linha.put("status", new TreeMap<>(status));
+            return linha;
+        }
+
+        // Em milissegundos
+        private static double percentil(long[] ordenadas, double p) {
+            if (ordenadas.length == 0) {
+                return 0;
+            }
+            int posicao = (int) Math.ceil(p / 100 * ordenadas.length) - 1;
+            return arredondar(ordenadas[Math.max(0, Math.min(posicao, ordenadas.length - 1))] / 1e6);
+        }
+
+        private static double arredondar(double valor) {
+            return Math.round(valor * 10) / 10.0;
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package br.com.neki.eventos.carga;
+
+import br.com.neki.eventos.EventosApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+// Teste de carga de ponta a ponta. Sobe a aplicação nesta mesma JVM (com o H2 em memória do perfil "test",
+// ou com o banco de application.properties usando --banco=postgresql), cria administradores e eventos,
+// parte deles com imagem, pela própria API e dispara a mistura de cenários com clientes concorrentes.
+// O relatório traz vazão e p50/p95/p99 por endpoint; com a mesma semente e os mesmos parâmetros a
+// sequência de cenários de cada cliente se repete, então execuções diferentes podem ser comparadas.
+//
+//   ./mvnw -P carga verify -Dcarga.args="--administradores=5 --eventos=500 --imagens=50 --clientes=50 --segundos=60"
+//
+// Argumentos que não são do teste (ex.: --spring.datasource.url=...) são repassados à aplicação.
+public class TesteCarga {
+
+    private static final String SENHA = "Carga@12345";
+    private static final LocalDateTime INICIO_DATAS = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    // Mistura de tráfego: pesos relativos de cada cenário. Login é raro porque os clientes reaproveitam o token
+    // da preparação e só entram de novo quando recebem 401; cada login custa um BCrypt, então com poucos
+    // núcleos ele domina o uso de CPU
+    private enum Cenario {
+        LISTAR_ADMINISTRADOR(30),
+        LISTAR_TODOS(20),
+        BAIXAR_IMAGEM(25),
+        CRIAR(12),
+        ATUALIZAR(11),
+        LOGIN(2);
+
+        private final int peso;
+
+        Cenario(int peso) {
+            this.peso = peso;
+        }
+
+        static Cenario sortear(Random aleatorio) {
+            int total = 0;
+            for (Cenario cenario : values()) {
+                total += cenario.peso;
+            }
+            int sorteado = aleatorio.nextInt(total);
+            for (Cenario cenario : values()) {
+                sorteado -= cenario.peso;
+                if (sorteado < 0) {
+                    return cenario;
+                }
+            }
+            throw new IllegalStateException();
+        }
+    }
+
+    private record Administrador(Long id, String email, String token, long[] eventos, List<Long> eventosComImagem) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opcoes = new LinkedHashMap<>();
+        opcoes.put("banco", "h2");
+        opcoes.put("administradores", "5");
+        opcoes.put("eventos", "500");
+        opcoes.put("imagens", "50");
+        opcoes.put("clientes", "50");
+        opcoes.put("segundos", "60");
+        opcoes.put("aquecimento", "15");
+        opcoes.put("semente", "42");
+        opcoes.put("saida", "target/carga/resultado.json");
+
+        List<String> argumentosAplicacao = new ArrayList<>();
+        for (String arg : args) {
+            String[] partes = arg.replaceFirst("^--", "").split("=", 2);
+            if (partes.length == 2 && opcoes.containsKey(partes[0])) {
+                opcoes.put(partes[0], partes[1]);
+            } else {
+                argumentosAplicacao.add(arg);
+            }
+        }
+
+        int quantidadeAdministradores = Integer.parseInt(opcoes.get("administradores"));
+        int quantidadeEventos = Integer.parseInt(opcoes.get("eventos"));
+        int quantidadeImagens = Math.min(Integer.parseInt(opcoes.get("imagens")), quantidadeEventos);
+        int clientes = Integer.parseInt(opcoes.get("clientes"));
+        long segundos = Long.parseLong(opcoes.get("segundos"));
+        long aquecimento = Long.parseLong(opcoes.get("aquecimento"));
+        long semente = Long.parseLong(opcoes.get("semente"));
+        boolean h2 = opcoes.get("banco").equals("h2");
+
+        FileSystemUtils.deleteRecursively(Path.of("target/carga/imagens"));
+        SpringApplicationBuilder aplicacao = new SpringApplicationBuilder(EventosApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.main.banner-mode=off",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=warn",
+                        "app.imagens.diretorio=target/carga/imagens",
+                        // O limite de tentativas de login barraria o cenário de login
+                        "app.auth.limite.por-email=1000000",
+                        "app.auth.limite.por-ip=1000000");
+        if (h2) {
+            aplicacao.profiles("test");
+        }
+
+        System.out.println("Subindo a aplicação (" + opcoes.get("banco") + ")...");
+        ConfigurableApplicationContext contexto = aplicacao.run(argumentosAplicacao.toArray(String[]::new));
+        int porta = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+        ObjectMapper objectMapper = contexto.getBean(ObjectMapper.class);
+
+        Estatisticas estatisticas = new Estatisticas();
+        ClienteApi api = new ClienteApi("http://localhost:" + porta, objectMapper, estatisticas);
+
+        System.out.printf("Criando %d administradores e %d eventos (%d com imagem)...%n",
+                quantidadeAdministradores, quantidadeEventos, quantidadeImagens);
+        Random aleatorio = new Random(semente);
+        List<Administrador> administradores = preparar(api, objectMapper, aleatorio,
+                quantidadeAdministradores, quantidadeEventos, quantidadeImagens);
+        List<Long> eventosComImagem = administradores.stream()
+                .flatMap(admin -> admin.eventosComImagem().stream())
+                .toList();
+
+        System.out.printf("Carga: %d clientes, %ds de aquecimento e %ds de medição...%n", clientes, aquecimento, segundos);
+        List<Thread> threads = new ArrayList<>();
+        Parada parada = new Parada();
+        for (int i = 0; i < clientes; i++) {
+            Administrador admin = administradores.get(i % administradores.size());
+            Random aleatorioCliente = new Random(semente + i + 1);
+            threads.add(Thread.ofVirtual().name("carga-" + i).start(() ->
+                    executarCliente(api, admin, eventosComImagem, aleatorioCliente, parada)));
+        }
+
+        Thread.sleep(aquecimento * 1000);
+        estatisticas.iniciarMedicao();
+        Thread.sleep(segundos * 1000);
+        estatisticas.encerrarMedicao();
+        parada.parar = true;
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        List<Map<String, Object>> resumo = estatisticas.resumo();
+        imprimir(resumo);
+
+        Map<String, Object> relatorio = new LinkedHashMap<>();
+        relatorio.put("configuracao", opcoes);
+        relatorio.put("duracaoSegundos", Math.round(estatisticas.segundosMedidos() * 10) / 10.0);
+        relatorio.put("endpoints", resumo);
+        Path saida = Path.of(opcoes.get("saida"));
+        Files.createDirectories(saida.toAbsolutePath().getParent());
+        objectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValue(saida.toFile(), relatorio);
+        System.out.println("Relatório: " + saida.toAbsolutePath());
+
+        contexto.close();
+        System.exit(0);
+    }
+
+    private static final class Parada {
+        private volatile boolean parar;
+    }
+
+    // Administradores novos a cada execução (e-mails com o instante), para poder repetir contra o mesmo PostgreSQL
+    private static List<Administrador> preparar(ClienteApi api, ObjectMapper objectMapper, Random aleatorio,
+                                                int quantidadeAdministradores, int quantidadeEventos,
+                                                int quantidadeImagens) throws Exception {
+        long execucao = System.currentTimeMillis();
+        List<Administrador> administradores = new ArrayList<>();
+        for (int a = 0; a < quantidadeAdministradores; a++) {
+            String email = "carga-" + execucao + "-" + a + "@carga.local";
+            Long id = api.registrar("Administrador " + a, email, SENHA);
+            String token = api.login(email, SENHA);
+
+            int eventos = quantidadeEventos / quantidadeAdministradores
+                    + (a < quantidadeEventos % quantidadeAdministradores ? 1 : 0);
+            int imagens = quantidadeImagens / quantidadeAdministradores
+                    + (a < quantidadeImagens % quantidadeAdministradores ? 1 : 0);
+
+            List<Long> comImagem = new ArrayList<>();
+            for (int i = 0; i < imagens; i++) {
+                comImagem.add(api.criarComImagem(token, id, "Evento com imagem " + a + "-" + i, data(aleatorio),
+                        "Local " + aleatorio.nextInt(100), gerarJpeg(aleatorio)));
+            }
+
+            StringBuilder ndjson = new StringBuilder();
+            for (int i = imagens; i < eventos; i++) {
+                Map<String, Object> evento = new LinkedHashMap<>();
+                evento.put("nome", "Evento " + a + "-" + i);
+                evento.put("data", data(aleatorio).toString());
+                evento.put("localizacao", "Local " + aleatorio.nextInt(100));
+                evento.put("administradorId", id);
+                ndjson.append(objectMapper.writeValueAsString(evento)).append('\n');
+            }
+            if (!ndjson.isEmpty()) {
+                api.importar(token, ndjson.toString());
+            }
+
+            administradores.add(new Administrador(id, email, token, api.idsDoAdministrador(token, id), comImagem));
+        }
+        return administradores;
+    }
+
+    private static void executarCliente(ClienteApi api, Administrador admin, List<Long> eventosComImagem,
+                                        Random aleatorio, Parada parada) {
+        // Os clientes começam com o token da preparação: um login simultâneo de todos só mediria a fila do BCrypt
+        String token = admin.token();
+        while (!parada.parar) {
+            try {
+                if (token == null) {
+                    token = api.login(admin.email(), SENHA);
+                    if (token == null) {
+                        // Login recusado (429 com a fila do BCrypt cheia): espera antes de tentar de novo
+                        Thread.sleep(1000);
+                    }
+                    continue;
+                }
+                int status = switch (Cenario.sortear(aleatorio)) {
+                    case LISTAR_ADMINISTRADOR -> api.listarDoAdministrador(token, admin.id());
+                    case LISTAR_TODOS -> api.listarTodos(token, data(aleatorio));
+                    case BAIXAR_IMAGEM -> eventosComImagem.isEmpty()
+                            ? api.listarDoAdministrador(token, admin.id())
+                            : api.baixarImagem(token, eventosComImagem.get(aleatorio.nextInt(eventosComImagem.size())));
+                    case CRIAR -> api.criar(token, admin.id(), "Evento criado na carga", data(aleatorio),
+                            "Local " + aleatorio.nextInt(100));
+                    case ATUALIZAR -> api.atualizar(token, admin.eventos()[aleatorio.nextInt(admin.eventos().length)],
+                            data(aleatorio), "Local atualizado " + aleatorio.nextInt(100));
+                    case LOGIN -> {
+                        String novo = api.login(admin.email(), SENHA);
+                        if (novo != null) {
+                            token = novo;
+                        }
+                        yield 200;
+                    }
+                };
+                // Token expirado durante a execução: entra de novo na próxima volta
+                if (status == 401) {
+                    token = null;
+                }
+            } catch (Exception e) {
+                // Já registrado nas estatísticas com status -1
+            }
+        }
+    }
+
+    private static LocalDateTime data(Random aleatorio) {
+        return INICIO_DATAS.plusMinutes(aleatorio.nextInt(2 * 365 * 24 * 60));
+    }
+
+    // Imagens diferentes entre si (o armazenamento deduplica pelo conteúdo)
+    private static byte[] gerarJpeg(Random aleatorio) throws Exception {
+        BufferedImage imagem = new BufferedImage(1280, 720, BufferedImage.TYPE_INT_RGB);
+        int base = aleatorio.nextInt(0xFFFFFF);
+        for (int y = 0; y < imagem.getHeight(); y++) {
+            for (int x = 0; x < imagem.getWidth(); x++) {
+                imagem.setRGB(x, y, base ^ (x * 7 + y * 13));
+            }
+        }
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        ImageIO.write(imagem, "jpeg", saida);
+        return saida.toByteArray();
+    }
+
+    private static void imprimir(List<Map<String, Object>> resumo) {
+        System.out.println();
+        System.out.printf("%-26s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "req", "erros", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (Map<String, Object> linha : resumo) {
+            System.out.printf("%-26s %9s %7s %9s %9s %9s %9s %9s%n",
+                    linha.get("endpoint"), linha.get("requisicoes"), linha.get("erros"), linha.get("vazao"),
+                    linha.get("p50"), linha.get("p95"), linha.get("p99"), linha.get("max"));
+        }
+        System.out.println();
+    }
+}
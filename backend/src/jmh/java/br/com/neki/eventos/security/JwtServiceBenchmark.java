@@ -0,0 +1,55 @@
+package br.com.neki.eventos.security;
+
+import br.com.neki.eventos.model.Administrador;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+// Custo por requisição da emissão (login/refresh) e da validação (toda requisição autenticada) do JWT
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private JwtService jwtService;
+    private Administrador administrador;
+    private String token;
+    private String tokenAdulterado;
+
+    @Setup
+    public void preparar() {
+        jwtService = new JwtService(new RevogacaoTokens(true, 10_000), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtService, "jwtSecret", "MinhaChaveSuperSecreta1234567890_!@#ABC_DEF_GHI");
+        ReflectionTestUtils.setField(jwtService, "jwtExpirationMs", 900_000L);
+        jwtService.init();
+
+        administrador = new Administrador();
+        administrador.setId(42L);
+        administrador.setEmail("admin@neki.com.br");
+
+        token = jwtService.generateToken(administrador);
+        char ultimo = token.charAt(token.length() - 1);
+        tokenAdulterado = token.substring(0, token.length() - 1) + (ultimo == 'A' ? 'B' : 'A');
+    }
+
+    @Benchmark
+    public String gerarToken() {
+        return jwtService.generateToken(administrador);
+    }
+
+    @Benchmark
+    public boolean validarToken() {
+        return jwtService.isTokenValid(token);
+    }
+
+    // Assinatura inválida: o caminho de exceção do parser
+    @Benchmark
+    public boolean validarTokenAdulterado() {
+        return jwtService.isTokenValid(tokenAdulterado);
+    }
+}
@@ -0,0 +1,67 @@
+package br.com.neki.eventos.service;
+
+import br.com.neki.eventos.dto.EventoDTO;
+import br.com.neki.eventos.repository.EventoResumo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Montagem da resposta das listagens quando o cache não tem a página: projeção -> EventoDTO -> JSON
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListagemEventosBenchmark {
+
+    @Param({"20", "1000", "10000"})
+    private int quantidade;
+
+    private EventoService eventoService;
+    private ObjectMapper objectMapper;
+    private List<EventoResumo> resumos;
+    private List<EventoDTO> dtos;
+
+    @Setup
+    public void preparar() {
+        // mapToDTO não usa as dependências do serviço
+        eventoService = new EventoService(null, null, null, null, null, null);
+        // Mesma configuração que o Spring Boot aplica ao ObjectMapper da aplicação (datas em ISO-8601)
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS,
+                        SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+                .build();
+
+        LocalDateTime inicio = LocalDateTime.of(2030, 1, 1, 20, 0);
+        resumos = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            boolean imagemEnviada = i % 3 == 0;
+            resumos.add(new EventoResumo((long) i, "Evento " + i, inicio.plusHours(i), "Local " + (i % 97),
+                    !imagemEnviada && i % 3 == 1 ? "https://exemplo.com/imagens/" + i + ".jpg" : null,
+                    imagemEnviada));
+        }
+        dtos = mapear();
+    }
+
+    @Benchmark
+    public List<EventoDTO> mapear() {
+        return resumos.stream().map(eventoService::mapToDTO).toList();
+    }
+
+    @Benchmark
+    public byte[] serializar() throws Exception {
+        return objectMapper.writeValueAsBytes(dtos);
+    }
+
+    @Benchmark
+    public byte[] mapearESerializar() throws Exception {
+        return objectMapper.writeValueAsBytes(mapear());
+    }
+}
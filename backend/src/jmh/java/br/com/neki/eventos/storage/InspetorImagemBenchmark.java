@@ -0,0 +1,57 @@
+package br.com.neki.eventos.storage;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.MediaType;
+
+import javax.imageio.ImageIO;
+import java.awt.Dimension;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Identificação do tipo das imagens. O GET /eventos/{id}/imagem só converte o content type gravado
+// (parseMediaType); a detecção pelos bytes iniciais e a leitura das dimensões acontecem uma vez, no upload.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InspetorImagemBenchmark {
+
+    @Param({"JPEG", "PNG", "GIF"})
+    private FormatoImagem formato;
+
+    private byte[] imagem;
+
+    @Setup
+    public void preparar() throws IOException {
+        BufferedImage original = new BufferedImage(1200, 800, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < original.getHeight(); y++) {
+            for (int x = 0; x < original.getWidth(); x++) {
+                original.setRGB(x, y, (x * 31) ^ (y * 17));
+            }
+        }
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        ImageIO.write(original, formato.getNomeImageIO(), saida);
+        imagem = saida.toByteArray();
+    }
+
+    @Benchmark
+    public MediaType contentTypeDaResposta() {
+        return MediaType.parseMediaType(formato.getContentType());
+    }
+
+    @Benchmark
+    public FormatoImagem detectarFormato() throws IOException {
+        return InspetorImagem.detectarFormato(new BufferedInputStream(new ByteArrayInputStream(imagem)));
+    }
+
+    @Benchmark
+    public Dimension lerDimensoes() throws IOException {
+        return InspetorImagem.lerDimensoes(new ByteArrayInputStream(imagem), formato);
+    }
+}
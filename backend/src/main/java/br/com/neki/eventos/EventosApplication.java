@@ -2,8 +2,12 @@ package br.com.neki.eventos;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication
+// A autenticação é só por JWT (JwtAuthenticationFilter + /auth/login): sem o usuário em memória do Spring Boot
+@SpringBootApplication(exclude = UserDetailsServiceAutoConfiguration.class)
+@EnableScheduling
 public class EventosApplication {
 
 	public static void main(String[] args) {
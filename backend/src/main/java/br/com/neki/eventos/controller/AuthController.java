@@ -2,9 +2,15 @@ package br.com.neki.eventos.controller;
 
 import br.com.neki.eventos.dto.*;
 import br.com.neki.eventos.model.Administrador;
+import br.com.neki.eventos.security.CacheAutenticacao;
 import br.com.neki.eventos.security.JwtService;
+import br.com.neki.eventos.security.LimitadorTentativasLogin;
+import br.com.neki.eventos.security.RevogacaoTokens;
 import br.com.neki.eventos.service.AdministradorService;
+import br.com.neki.eventos.service.RefreshTokenService;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.*;
@@ -16,10 +22,23 @@ public class AuthController {
 
     private final AdministradorService administradorService;
     private final JwtService jwtService;
+    private final LimitadorTentativasLogin limitadorTentativasLogin;
+    private final RefreshTokenService refreshTokenService;
+    private final RevogacaoTokens revogacaoTokens;
+    private final CacheAutenticacao cacheAutenticacao;
 
-    public AuthController(AdministradorService administradorService, JwtService jwtService) {
+    public AuthController(AdministradorService administradorService,
+                          JwtService jwtService,
+                          LimitadorTentativasLogin limitadorTentativasLogin,
+                          RefreshTokenService refreshTokenService,
+                          RevogacaoTokens revogacaoTokens,
+                          CacheAutenticacao cacheAutenticacao) {
         this.administradorService = administradorService;
         this.jwtService = jwtService;
+        this.limitadorTentativasLogin = limitadorTentativasLogin;
+        this.refreshTokenService = refreshTokenService;
+        this.revogacaoTokens = revogacaoTokens;
+        this.cacheAutenticacao = cacheAutenticacao;
     }
 
     @PostMapping("/register")
@@ -28,17 +47,42 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<LoginResponseDTO> login(@RequestBody LoginRequestDTO dto) {
-        Administrador admin = administradorService.buscarPorEmail(dto.getEmail())
-                .orElseThrow(() -> new UsernameNotFoundException("Credenciais inválidas"));
+    public ResponseEntity<LoginResponseDTO> login(@RequestBody LoginRequestDTO dto, HttpServletRequest request) {
+        // Atrás de um proxy, o getRemoteAddr já é o IP do cliente: ver server.forward-headers-strategy
+        limitadorTentativasLogin.verificar(dto.getEmail(), request.getRemoteAddr());
 
-        if (!administradorService.checkPassword(dto.getSenha(), admin.getSenha())) {
+        Administrador admin = administradorService.buscarPorEmail(dto.getEmail()).orElse(null);
+        if (admin == null || !administradorService.checkPassword(dto.getSenha(), admin.getSenha())) {
+            limitadorTentativasLogin.registrarFalha(dto.getEmail());
             throw new UsernameNotFoundException("Credenciais inválidas");
         }
+        limitadorTentativasLogin.registrarSucesso(dto.getEmail());
 
-        String token = jwtService.generateToken(admin.getEmail());
-        return ResponseEntity.ok(
-                new LoginResponseDTO(token, new AdministradorDTO(admin.getId(), admin.getNome(), admin.getEmail()))
-        );
+        return ResponseEntity.ok(refreshTokenService.iniciarSessao(admin));
+    }
+
+    // Troca um refresh token válido por um novo par (o refresh token usado deixa de valer)
+    @PostMapping("/refresh")
+    public ResponseEntity<LoginResponseDTO> refresh(@RequestBody RefreshRequestDTO dto) {
+        return ResponseEntity.ok(refreshTokenService.renovar(dto.getRefreshToken()));
+    }
+
+    // Encerra a sessão: revoga a família do refresh token e o access token enviado no cabeçalho
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestBody(required = false) RefreshRequestDTO dto,
+                                       @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader) {
+        if (dto != null) {
+            refreshTokenService.revogar(dto.getRefreshToken());
+        }
+
+        final String prefix = "Bearer ";
+        if (authHeader != null && authHeader.startsWith(prefix)) {
+            String jwt = authHeader.substring(prefix.length());
+            jwtService.validar(jwt).ifPresent(claims -> {
+                revogacaoTokens.revogarToken(jwtService.extrairJti(claims), claims.getExpiration().getTime());
+                cacheAutenticacao.invalidarToken(jwt);
+            });
+        }
+        return ResponseEntity.noContent().build();
     }
 }
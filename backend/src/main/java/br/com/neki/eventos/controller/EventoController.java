@@ -1,56 +1,140 @@
 package br.com.neki.eventos.controller;
 
 import br.com.neki.eventos.dto.EventoDTO;
+import br.com.neki.eventos.dto.EventoLoteUpdateDTO;
 import br.com.neki.eventos.dto.EventoRequestDTO;
 import br.com.neki.eventos.dto.EventoUpdateRequestDTO;
+import br.com.neki.eventos.dto.PaginaDTO;
+import br.com.neki.eventos.dto.ResultadoImportacaoDTO;
+import br.com.neki.eventos.dto.ResultadoLoteDTO;
+import br.com.neki.eventos.exception.DadosInvalidosException;
+import br.com.neki.eventos.repository.FiltroEventos;
+import br.com.neki.eventos.repository.ImagemResumo;
+import br.com.neki.eventos.service.ArquivoImagem;
+import br.com.neki.eventos.service.EventoArquivoService;
+import br.com.neki.eventos.service.EventoLoteService;
 import br.com.neki.eventos.service.EventoService;
+import br.com.neki.eventos.service.FormatoArquivo;
+import br.com.neki.eventos.storage.VarianteImagem;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.apache.catalina.Globals;
+import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Enumeration;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/eventos")
 @Tag(name = "Eventos", description = "CRUD de eventos do administrador")
 public class EventoController {
 
+    private static final CacheControl CACHE_IMAGEM =
+            CacheControl.maxAge(Duration.ofDays(365)).cachePrivate().immutable();
+    private static final CacheControl CACHE_IMAGEM_PROVISORIA = CacheControl.noCache().cachePrivate();
+
     private final EventoService eventoService;
+    private final EventoLoteService eventoLoteService;
+    private final EventoArquivoService eventoArquivoService;
     private final ObjectMapper objectMapper;
+    private final Map<VarianteImagem, DistributionSummary> bytesImagem = new EnumMap<>(VarianteImagem.class);
+    private final DistributionSummary bytesRecebidos;
 
-    public EventoController(EventoService eventoService, ObjectMapper objectMapper) {
+    public EventoController(EventoService eventoService, EventoLoteService eventoLoteService,
+                            EventoArquivoService eventoArquivoService, ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry) {
         this.eventoService = eventoService;
+        this.eventoLoteService = eventoLoteService;
+        this.eventoArquivoService = eventoArquivoService;
         this.objectMapper = objectMapper;
+
+        for (VarianteImagem variante : VarianteImagem.values()) {
+            bytesImagem.put(variante, DistributionSummary.builder("eventos.imagens.servidas")
+                    .description("Tamanho das imagens entregues por completo (sem 304 nem Range)")
+                    .baseUnit("bytes")
+                    .tag("variante", variante.getNome())
+                    .register(meterRegistry));
+        }
+        this.bytesRecebidos = DistributionSummary.builder("eventos.imagens.recebidas")
+                .description("Tamanho das imagens aceitas no upload")
+                .baseUnit("bytes")
+                .register(meterRegistry);
     }
 
+    // Limites de tamanho em spring.servlet.multipart.*; a imagem acima do limiar fica em arquivo temporário.
+    // Os dados são validados antes de a imagem ser lida, então um envio inválido não chega a inspecioná-la nem gravá-la.
     @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<EventoDTO> criarComUpload(
             @RequestPart("dados") String dadosJson,
             @RequestPart(value = "imagem", required = false) MultipartFile imagem
     ) throws IOException {
-        EventoRequestDTO request = objectMapper.readValue(dadosJson, EventoRequestDTO.class);
-        return ResponseEntity.ok(eventoService.criarComUpload(request, imagem));
+        EventoRequestDTO request = lerDados(dadosJson);
+        EventoDTO criado = eventoService.criarComUpload(request, imagem);
+        if (imagem != null && !imagem.isEmpty()) {
+            bytesRecebidos.record(imagem.getSize());
+        }
+        return ResponseEntity.ok(criado);
     }
 
     @PostMapping("/url")
-    public ResponseEntity<EventoDTO> criarComUrl(@Valid @RequestBody EventoRequestDTO request) {
+    public ResponseEntity<EventoDTO> criarComUrl(@RequestBody EventoRequestDTO request) {
         return ResponseEntity.ok(eventoService.criarComUrl(request));
     }
 
+    // As listagens devolvem o JSON já serializado guardado em cache (lista de EventoDTO / PaginaDTO)
     @GetMapping("/admin/{administradorId}")
-    public ResponseEntity<List<EventoDTO>> listarPorAdmin(@PathVariable Long administradorId) {
-        return ResponseEntity.ok(eventoService.listarPorAdministrador(administradorId));
+    public ResponseEntity<byte[]> listarPorAdmin(@PathVariable Long administradorId) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(eventoService.listarPorAdministradorJson(administradorId));
     }
 
+    // Filtros opcionais: intervalo de datas (from/to, inclusivos; from=agora lista os próximos eventos),
+    // administrador e texto no nome ou na localização. O cursor devolvido vale para os mesmos filtros.
     @GetMapping
-    public ResponseEntity<List<EventoDTO>> listarTodos() {
-        return ResponseEntity.ok(eventoService.listarTodos());
+    public ResponseEntity<byte[]> listarTodos(
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime de,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime ate,
+            @RequestParam(name = "adminId", required = false) Long administradorId,
+            @RequestParam(name = "q", required = false) String texto,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamanho) {
+        FiltroEventos filtro = new FiltroEventos(de, ate, administradorId, texto);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(eventoService.listarTodosJson(filtro, cursor, tamanho));
+    }
+
+    // Busca por palavras (com prefixos e tolerância a erros de digitação), ordenada por relevância
+    @GetMapping("/busca")
+    public ResponseEntity<PaginaDTO<EventoDTO>> buscar(
+            @RequestParam("q") String texto,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(eventoService.buscar(texto, cursor, tamanho));
     }
 
     @PutMapping("/{eventoId}")
@@ -66,25 +150,138 @@ public class EventoController {
         return ResponseEntity.noContent().build();
     }
 
+    // Operações em lote: a resposta traz o resultado de cada item na ordem enviada (índice, id e erro),
+    // e os itens com erro não impedem a gravação dos demais
+    @PostMapping("/batch")
+    public ResponseEntity<ResultadoLoteDTO> criarEmLote(@RequestBody List<EventoRequestDTO> itens) {
+        return ResponseEntity.ok(eventoLoteService.criar(itens));
+    }
+
+    @PatchMapping("/batch")
+    public ResponseEntity<ResultadoLoteDTO> atualizarEmLote(@RequestBody List<EventoLoteUpdateDTO> itens) {
+        return ResponseEntity.ok(eventoLoteService.atualizar(itens));
+    }
+
+    @DeleteMapping("/batch")
+    public ResponseEntity<ResultadoLoteDTO> excluirEmLote(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(eventoLoteService.excluir(ids));
+    }
+
+    // Importação em massa: o corpo é lido à medida que chega (NDJSON ou CSV com cabeçalho, mesmas
+    // colunas do POST /eventos/url) e a resposta resume o resultado
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    public ResponseEntity<ResultadoImportacaoDTO> importarNdjson(InputStream corpo) throws IOException {
+        return ResponseEntity.ok(eventoArquivoService.importar(corpo, FormatoArquivo.NDJSON));
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ResultadoImportacaoDTO> importarCsv(InputStream corpo) throws IOException {
+        return ResponseEntity.ok(eventoArquivoService.importar(corpo, FormatoArquivo.CSV));
+    }
+
+    // Exportação de todos os eventos, escrita direto na resposta enquanto o banco é percorrido
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportar(@RequestParam(defaultValue = "ndjson") String formato) {
+        FormatoArquivo formatoArquivo = FormatoArquivo.de(formato);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(formatoArquivo.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("eventos." + formatoArquivo.getExtensao()).build().toString())
+                .body(eventoArquivoService.exportar(formatoArquivo));
+    }
+
+    // A imagem de um evento nunca muda (o hash do conteúdo é o ETag), então o cliente pode guardá-la
+    // indefinidamente; a revalidação da resposta definitiva responde 304 só com os metadados do banco, sem
+    // consultar o arquivo. Requisições com Range recebem 206.
+    // size=thumb|card devolve a variante reduzida; enquanto ela não fica pronta o original é servido sem cache longo.
+    // A conexão com o banco é devolvida assim que os metadados são lidos (open-in-view desligado).
     @GetMapping("/{id}/imagem")
-    public ResponseEntity<byte[]> buscarImagem(@PathVariable Long id) throws IOException {
-        byte[] imagem = eventoService.buscarImagem(id);
+    public ResponseEntity<Resource> buscarImagem(
+            @PathVariable Long id,
+            @RequestParam(name = "size", defaultValue = "full") VarianteImagem variante,
+            WebRequest webRequest,
+            HttpServletRequest request) throws IOException {
+        ImagemResumo metadados = eventoService.buscarImagem(id);
+        if (metadados == null) {
+            return ResponseEntity.notFound().build();
+        }
+        // O checkNotModified também grava o ETag na resposta, então só é chamado aqui quando vai dar 304
+        String etagDefinitivo = "\"" + eventoService.etagImagem(metadados, variante) + "\"";
+        if (pedeEtag(request, etagDefinitivo) && webRequest.checkNotModified(etagDefinitivo)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(CACHE_IMAGEM)
+                    .build();
+        }
 
-        if (imagem == null) {
+        ArquivoImagem arquivo = eventoService.resolverImagem(metadados, variante);
+        if (arquivo == null) {
             return ResponseEntity.notFound().build();
         }
 
-        String contentType;
-        try (var is = new java.io.ByteArrayInputStream(imagem)) {
-            contentType = java.net.URLConnection.guessContentTypeFromStream(is);
+        Resource imagem = arquivo.getConteudo();
+        String etag = "\"" + arquivo.getEtag() + "\"";
+        CacheControl cacheControl = arquivo.isDefinitivo() ? CACHE_IMAGEM : CACHE_IMAGEM_PROVISORIA;
+        if (webRequest.checkNotModified(etag, imagem.lastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(cacheControl)
+                    .build();
         }
-        if (contentType == null) {
-            contentType = MediaType.APPLICATION_OCTET_STREAM_VALUE;
+
+        // O tipo foi detectado e validado no upload; imagens sem metadados são servidas como binário genérico
+        MediaType contentType = arquivo.getContentType() != null
+                ? MediaType.parseMediaType(arquivo.getContentType())
+                : MediaType.APPLICATION_OCTET_STREAM;
+
+        if (webRequest.getHeader(HttpHeaders.RANGE) == null) {
+            bytesImagem.get(variante).record(imagem.contentLength());
         }
 
-        return ResponseEntity.ok()
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"evento_" + id + "\"")
-                .contentType(MediaType.parseMediaType(contentType))
-                .body(imagem);
+                .contentType(contentType)
+                .eTag(etag)
+                .lastModified(imagem.lastModified())
+                .cacheControl(cacheControl);
+
+        if (enviarPorSendfile(request, imagem)) {
+            return resposta.contentLength(imagem.contentLength()).build();
+        }
+        return resposta.body(imagem);
+    }
+
+    private static boolean pedeEtag(HttpServletRequest request, String etag) {
+        Enumeration<String> valores = request.getHeaders(HttpHeaders.IF_NONE_MATCH);
+        while (valores.hasMoreElements()) {
+            if (valores.nextElement().contains(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private EventoRequestDTO lerDados(String dadosJson) {
+        try {
+            return objectMapper.readValue(dadosJson, EventoRequestDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new DadosInvalidosException("O campo dados não é um JSON de evento válido");
+        }
+    }
+
+    // Com o conector NIO do Tomcat, o arquivo inteiro é entregue pelo sendfile: a thread da requisição termina
+    // ao devolver os cabeçalhos e o poller escreve no socket conforme o cliente consome, então clientes lentos
+    // não prendem o pool. Range, HEAD e armazenamentos que não são arquivos locais seguem pelo caminho comum.
+    private static boolean enviarPorSendfile(HttpServletRequest request, Resource imagem) throws IOException {
+        if (!Boolean.TRUE.equals(request.getAttribute(Globals.SENDFILE_SUPPORTED_ATTR))
+                || !HttpMethod.GET.matches(request.getMethod())
+                || request.getHeader(HttpHeaders.RANGE) != null
+                || !imagem.isFile()) {
+            return false;
+        }
+
+        long tamanho = imagem.contentLength();
+        request.setAttribute(Globals.SENDFILE_FILENAME_ATTR, imagem.getFile().getAbsolutePath());
+        request.setAttribute(Globals.SENDFILE_FILE_START_ATTR, 0L);
+        request.setAttribute(Globals.SENDFILE_FILE_END_ATTR, tamanho);
+        return true;
     }
 }
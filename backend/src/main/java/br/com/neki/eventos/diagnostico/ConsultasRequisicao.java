@@ -0,0 +1,123 @@
+package br.com.neki.eventos.diagnostico;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Instruções SQL executadas durante uma requisição, agrupadas pelo texto. Fica numa ThreadLocal
+// enquanto a requisição está em andamento e, ao final, como atributo da requisição (usado pelos testes).
+public class ConsultasRequisicao {
+
+    public static final String ATRIBUTO = ConsultasRequisicao.class.getName();
+
+    private static final ThreadLocal<ConsultasRequisicao> ATUAL = new ThreadLocal<>();
+
+    private final long limiteLentaNanos;
+    private final Map<String, Integer> execucoes = new LinkedHashMap<>();
+    private final List<ConsultaLenta> lentas = new ArrayList<>();
+    private final Map<String, Integer> repeticoesIntencionais = new HashMap<>();
+    private final Set<String> vistasNoBloco = new HashSet<>();
+    private int blocosIntencionais;
+    private int total;
+    private String ultima;
+    private long inicioExecucao;
+
+    private ConsultasRequisicao(long limiteLentaMs) {
+        this.limiteLentaNanos = TimeUnit.MILLISECONDS.toNanos(limiteLentaMs);
+    }
+
+    static ConsultasRequisicao iniciar(long limiteLentaMs) {
+        ConsultasRequisicao consultas = new ConsultasRequisicao(limiteLentaMs);
+        ATUAL.set(consultas);
+        return consultas;
+    }
+
+    static ConsultasRequisicao atual() {
+        return ATUAL.get();
+    }
+
+    static void encerrar() {
+        ATUAL.remove();
+    }
+
+    // Repetição deliberada, como a regravação item a item de um lote recusado pelo banco: dentro do bloco
+    // cada instrução conta uma vez só para a suspeita de N+1, mas todas continuam no total da requisição
+    public static <T> T repeticaoIntencional(Supplier<T> bloco) {
+        ConsultasRequisicao consultas = ATUAL.get();
+        if (consultas == null) {
+            return bloco.get();
+        }
+        consultas.blocosIntencionais++;
+        try {
+            return bloco.get();
+        } finally {
+            if (--consultas.blocosIntencionais == 0) {
+                consultas.vistasNoBloco.clear();
+            }
+        }
+    }
+
+    // Chamado pelo StatementInspector quando o Hibernate prepara a instrução; um lote JDBC conta uma vez
+    void registrar(String sql) {
+        String normalizada = normalizar(sql);
+        execucoes.merge(normalizada, 1, Integer::sum);
+        if (blocosIntencionais > 0 && !vistasNoBloco.add(normalizada)) {
+            repeticoesIntencionais.merge(normalizada, 1, Integer::sum);
+        }
+        total++;
+        ultima = normalizada;
+    }
+
+    void inicioExecucao() {
+        inicioExecucao = System.nanoTime();
+    }
+
+    // A execução é atribuída à última instrução preparada na mesma thread
+    void fimExecucao() {
+        long duracao = System.nanoTime() - inicioExecucao;
+        if (duracao >= limiteLentaNanos && ultima != null) {
+            lentas.add(new ConsultaLenta(ultima, TimeUnit.NANOSECONDS.toMillis(duracao)));
+        }
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public Map<String, Integer> getExecucoes() {
+        return Collections.unmodifiableMap(execucoes);
+    }
+
+    public List<ConsultaLenta> getLentas() {
+        return Collections.unmodifiableList(lentas);
+    }
+
+    // O mesmo SELECT repetido várias vezes na requisição costuma ser uma associação carregada linha a linha
+    public Map<String, Integer> suspeitasNMaisUm(int limiteRepeticoes) {
+        Map<String, Integer> suspeitas = new LinkedHashMap<>();
+        execucoes.forEach((sql, execucoesNoTotal) -> {
+            int vezes = execucoesNoTotal - repeticoesIntencionais.getOrDefault(sql, 0);
+            if (vezes >= limiteRepeticoes && sql.regionMatches(true, 0, "select", 0, 6)) {
+                suspeitas.put(sql, vezes);
+            }
+        });
+        return suspeitas;
+    }
+
+    // Espaços e listas IN de tamanhos diferentes não distinguem uma instrução da outra
+    private static String normalizar(String sql) {
+        return sql.strip()
+                .replaceAll("\\s+", " ")
+                .replaceAll("\\?(\\s*,\\s*\\?)+", "?");
+    }
+
+    public record ConsultaLenta(String sql, long milissegundos) {
+    }
+}
@@ -0,0 +1,31 @@
+package br.com.neki.eventos.diagnostico;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Detector de N+1 e consultas lentas para desenvolvimento e testes (app.diagnostico.consultas.habilitado).
+// Desligado, o Hibernate roda sem inspetor nem listener extra.
+@Configuration
+@ConditionalOnProperty(name = "app.diagnostico.consultas.habilitado", havingValue = "true")
+public class DiagnosticoConsultasConfig {
+
+    @Bean
+    HibernatePropertiesCustomizer diagnosticoConsultasHibernate() {
+        return propriedades -> {
+            propriedades.put(AvailableSettings.STATEMENT_INSPECTOR, new InspetorConsultas());
+            propriedades.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, TempoConsultas.class.getName());
+        };
+    }
+
+    @Bean
+    FiltroConsultas filtroConsultas(
+            @Value("${app.diagnostico.consultas.limite-por-requisicao:10}") int limitePorRequisicao,
+            @Value("${app.diagnostico.consultas.limite-repeticoes:3}") int limiteRepeticoes,
+            @Value("${app.diagnostico.consultas.lenta-ms:200}") long limiteLentaMs) {
+        return new FiltroConsultas(limitePorRequisicao, limiteRepeticoes, limiteLentaMs);
+    }
+}
@@ -0,0 +1,69 @@
+package br.com.neki.eventos.diagnostico;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+// Acompanha as consultas de cada requisição e avisa no log quando passam do orçamento,
+// quando o mesmo SELECT se repete (provável N+1) ou quando alguma passa do limite de tempo
+public class FiltroConsultas extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(FiltroConsultas.class);
+    private static final int TAMANHO_MAXIMO_SQL_LOG = 300;
+
+    private final int limitePorRequisicao;
+    private final int limiteRepeticoes;
+    private final long limiteLentaMs;
+
+    public FiltroConsultas(int limitePorRequisicao, int limiteRepeticoes, long limiteLentaMs) {
+        this.limitePorRequisicao = limitePorRequisicao;
+        this.limiteRepeticoes = limiteRepeticoes;
+        this.limiteLentaMs = limiteLentaMs;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        ConsultasRequisicao consultas = ConsultasRequisicao.iniciar(limiteLentaMs);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ConsultasRequisicao.encerrar();
+            request.setAttribute(ConsultasRequisicao.ATRIBUTO, consultas);
+            avaliar(request, consultas);
+        }
+    }
+
+    private void avaliar(HttpServletRequest request, ConsultasRequisicao consultas) {
+        if (consultas.getTotal() == 0) {
+            return;
+        }
+
+        Object rota = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = request.getMethod() + " " + (rota != null ? rota : request.getRequestURI());
+
+        if (consultas.getTotal() > limitePorRequisicao) {
+            log.warn("{}: {} consultas SQL (orçamento {})", endpoint, consultas.getTotal(), limitePorRequisicao);
+        }
+        consultas.suspeitasNMaisUm(limiteRepeticoes).forEach((sql, vezes) ->
+                log.warn("{}: possível N+1, {} execuções de {}", endpoint, vezes, resumir(sql)));
+        consultas.getLentas().forEach(lenta ->
+                log.warn("{}: consulta lenta ({} ms) {}", endpoint, lenta.milissegundos(), resumir(lenta.sql())));
+
+        if (log.isDebugEnabled()) {
+            log.debug("{}: {} consultas SQL", endpoint, consultas.getTotal());
+        }
+    }
+
+    private static String resumir(String sql) {
+        return sql.length() <= TAMANHO_MAXIMO_SQL_LOG ? sql : sql.substring(0, TAMANHO_MAXIMO_SQL_LOG) + "...";
+    }
+}
@@ -0,0 +1,16 @@
+package br.com.neki.eventos.diagnostico;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Conta as instruções que o Hibernate prepara durante uma requisição acompanhada; não altera o SQL
+public class InspetorConsultas implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        ConsultasRequisicao consultas = ConsultasRequisicao.atual();
+        if (consultas != null) {
+            consultas.registrar(sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,34 @@
+package br.com.neki.eventos.diagnostico;
+
+import org.hibernate.SessionEventListener;
+
+// Mede o tempo de execução das instruções. O Hibernate cria uma instância por sessão
+// (hibernate.session.events.auto), por isso o estado fica em ConsultasRequisicao.
+public class TempoConsultas implements SessionEventListener {
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        ConsultasRequisicao consultas = ConsultasRequisicao.atual();
+        if (consultas != null) {
+            consultas.inicioExecucao();
+        }
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        ConsultasRequisicao consultas = ConsultasRequisicao.atual();
+        if (consultas != null) {
+            consultas.fimExecucao();
+        }
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        jdbcExecuteStatementStart();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        jdbcExecuteStatementEnd();
+    }
+}
@@ -0,0 +1,87 @@
+package br.com.neki.eventos.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import java.time.LocalDateTime;
+
+// Linha da exportação (NDJSON/CSV). Os nomes das colunas são os mesmos aceitos pela importação,
+// então um arquivo exportado pode ser importado de volta (o id é ignorado). A imagem enviada por upload vai
+// pela chave: os eventos importados passam a usar o mesmo arquivo, enquanto algum evento ainda o usar.
+@JsonPropertyOrder({"id", "nome", "data", "localizacao", "administradorId", "imagemUrl", "imagemChave"})
+public class EventoExportacaoDTO {
+    private Long id;
+    private String nome;
+    private LocalDateTime data;
+    private String localizacao;
+    private Long administradorId;
+    private String imagemUrl;
+    private String imagemChave;
+
+    public EventoExportacaoDTO() {}
+
+    public EventoExportacaoDTO(Long id, String nome, LocalDateTime data, String localizacao,
+                               Long administradorId, String imagemUrl, String imagemChave) {
+        this.id = id;
+        this.nome = nome;
+        this.data = data;
+        this.localizacao = localizacao;
+        this.administradorId = administradorId;
+        this.imagemUrl = imagemUrl;
+        this.imagemChave = imagemChave;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public void setNome(String nome) {
+        this.nome = nome;
+    }
+
+    public LocalDateTime getData() {
+        return data;
+    }
+
+    public void setData(LocalDateTime data) {
+        this.data = data;
+    }
+
+    public String getLocalizacao() {
+        return localizacao;
+    }
+
+    public void setLocalizacao(String localizacao) {
+        this.localizacao = localizacao;
+    }
+
+    public Long getAdministradorId() {
+        return administradorId;
+    }
+
+    public void setAdministradorId(Long administradorId) {
+        this.administradorId = administradorId;
+    }
+
+    public String getImagemUrl() {
+        return imagemUrl;
+    }
+
+    public void setImagemUrl(String imagemUrl) {
+        this.imagemUrl = imagemUrl;
+    }
+
+    public String getImagemChave() {
+        return imagemChave;
+    }
+
+    public void setImagemChave(String imagemChave) {
+        this.imagemChave = imagemChave;
+    }
+}
@@ -0,0 +1,43 @@
+package br.com.neki.eventos.dto;
+
+import jakarta.validation.constraints.Size;
+import java.time.LocalDateTime;
+
+public class EventoLoteUpdateDTO {
+    private Long id;
+    private LocalDateTime data;
+    @Size(max = 255, message = "Localização deve ter no máximo 255 caracteres")
+    private String localizacao;
+
+    public EventoLoteUpdateDTO() {}
+
+    public EventoLoteUpdateDTO(Long id, LocalDateTime data, String localizacao) {
+        this.id = id;
+        this.data = data;
+        this.localizacao = localizacao;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDateTime getData() {
+        return data;
+    }
+
+    public void setData(LocalDateTime data) {
+        this.data = data;
+    }
+
+    public String getLocalizacao() {
+        return localizacao;
+    }
+
+    public void setLocalizacao(String localizacao) {
+        this.localizacao = localizacao;
+    }
+}
@@ -1,22 +1,32 @@
 package br.com.neki.eventos.dto;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 import java.time.LocalDateTime;
 
 public class EventoRequestDTO {
 
+    // Os limites acompanham as colunas varchar(255) da V1
     @NotBlank(message = "Nome é obrigatório")
+    @Size(max = 255, message = "Nome deve ter no máximo 255 caracteres")
     private String nome;
 
     private LocalDateTime data;
 
     @NotBlank(message = "Localização é obrigatória")
+    @Size(max = 255, message = "Localização deve ter no máximo 255 caracteres")
     private String localizacao;
 
     private Long administradorId;
 
+    @Size(max = 255, message = "URL da imagem deve ter no máximo 255 caracteres")
     private String imagemUrl;
 
+    // Imagem já armazenada, pela chave que a exportação leva; só vale se algum evento já usar a mesma imagem
+    @Pattern(regexp = "[0-9a-f]{64}", message = "Chave da imagem inválida")
+    private String imagemChave;
+
     public EventoRequestDTO() {}
 
     public EventoRequestDTO(String nome, LocalDateTime data, String localizacao, Long administradorId, String imagemUrl) {
@@ -66,4 +76,12 @@ public class EventoRequestDTO {
     public void setImagemUrl(String imagemUrl) {
         this.imagemUrl = imagemUrl;
     }
+
+    public String getImagemChave() {
+        return imagemChave;
+    }
+
+    public void setImagemChave(String imagemChave) {
+        this.imagemChave = imagemChave;
+    }
 }
@@ -1,9 +1,11 @@
 package br.com.neki.eventos.dto;
 
+import jakarta.validation.constraints.Size;
 import java.time.LocalDateTime;
 
 public class EventoUpdateRequestDTO {
     private LocalDateTime data;
+    @Size(max = 255, message = "Localização deve ter no máximo 255 caracteres")
     private String localizacao;
 
     public EventoUpdateRequestDTO() {}
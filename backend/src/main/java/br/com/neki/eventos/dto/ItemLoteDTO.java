@@ -0,0 +1,57 @@
+package br.com.neki.eventos.dto;
+
+public class ItemLoteDTO {
+    private int indice;
+    private Long id;
+    private boolean sucesso;
+    private String erro;
+
+    public ItemLoteDTO() {}
+
+    public ItemLoteDTO(int indice, Long id, boolean sucesso, String erro) {
+        this.indice = indice;
+        this.id = id;
+        this.sucesso = sucesso;
+        this.erro = erro;
+    }
+
+    public static ItemLoteDTO sucesso(int indice, Long id) {
+        return new ItemLoteDTO(indice, id, true, null);
+    }
+
+    public static ItemLoteDTO falha(int indice, Long id, String erro) {
+        return new ItemLoteDTO(indice, id, false, erro);
+    }
+
+    public int getIndice() {
+        return indice;
+    }
+
+    public void setIndice(int indice) {
+        this.indice = indice;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public boolean isSucesso() {
+        return sucesso;
+    }
+
+    public void setSucesso(boolean sucesso) {
+        this.sucesso = sucesso;
+    }
+
+    public String getErro() {
+        return erro;
+    }
+
+    public void setErro(String erro) {
+        this.erro = erro;
+    }
+}
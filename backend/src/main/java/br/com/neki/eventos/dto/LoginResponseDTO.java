@@ -2,18 +2,23 @@ package br.com.neki.eventos.dto;
 
 public class LoginResponseDTO {
     private String token;
+    private String refreshToken;
     private AdministradorDTO administrador;
 
     public LoginResponseDTO() {}
 
-    public LoginResponseDTO(String token, AdministradorDTO administrador) {
+    public LoginResponseDTO(String token, String refreshToken, AdministradorDTO administrador) {
         this.token = token;
+        this.refreshToken = refreshToken;
         this.administrador = administrador;
     }
 
     public String getToken() { return token; }
     public void setToken(String token) { this.token = token; }
 
+    public String getRefreshToken() { return refreshToken; }
+    public void setRefreshToken(String refreshToken) { this.refreshToken = refreshToken; }
+
     public AdministradorDTO getAdministrador() { return administrador; }
     public void setAdministrador(AdministradorDTO administrador) { this.administrador = administrador; }
 }
@@ -0,0 +1,32 @@
+package br.com.neki.eventos.dto;
+
+import java.util.List;
+
+public class PaginaDTO<T> {
+
+    private List<T> itens;
+    private String proximoCursor;
+
+    public PaginaDTO() {}
+
+    public PaginaDTO(List<T> itens, String proximoCursor) {
+        this.itens = itens;
+        this.proximoCursor = proximoCursor;
+    }
+
+    public List<T> getItens() {
+        return itens;
+    }
+
+    public void setItens(List<T> itens) {
+        this.itens = itens;
+    }
+
+    public String getProximoCursor() {
+        return proximoCursor;
+    }
+
+    public void setProximoCursor(String proximoCursor) {
+        this.proximoCursor = proximoCursor;
+    }
+}
@@ -0,0 +1,47 @@
+package br.com.neki.eventos.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Resumo da importação. Ao contrário do ResultadoLoteDTO, não traz um item por registro (o arquivo
+// pode ter milhões de linhas): só os contadores e as primeiras falhas
+public class ResultadoImportacaoDTO {
+    private long total;
+    private long importados;
+    private long falhas;
+    private List<ItemLoteDTO> erros = new ArrayList<>();
+
+    public ResultadoImportacaoDTO() {}
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public long getImportados() {
+        return importados;
+    }
+
+    public void setImportados(long importados) {
+        this.importados = importados;
+    }
+
+    public long getFalhas() {
+        return falhas;
+    }
+
+    public void setFalhas(long falhas) {
+        this.falhas = falhas;
+    }
+
+    public List<ItemLoteDTO> getErros() {
+        return erros;
+    }
+
+    public void setErros(List<ItemLoteDTO> erros) {
+        this.erros = erros;
+    }
+}
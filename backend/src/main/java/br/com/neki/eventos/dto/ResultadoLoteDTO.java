@@ -0,0 +1,41 @@
+package br.com.neki.eventos.dto;
+
+import java.util.List;
+
+public class ResultadoLoteDTO {
+    private int sucessos;
+    private int falhas;
+    private List<ItemLoteDTO> itens;
+
+    public ResultadoLoteDTO() {}
+
+    public ResultadoLoteDTO(List<ItemLoteDTO> itens) {
+        this.itens = itens;
+        this.sucessos = (int) itens.stream().filter(ItemLoteDTO::isSucesso).count();
+        this.falhas = itens.size() - sucessos;
+    }
+
+    public int getSucessos() {
+        return sucessos;
+    }
+
+    public void setSucessos(int sucessos) {
+        this.sucessos = sucessos;
+    }
+
+    public int getFalhas() {
+        return falhas;
+    }
+
+    public void setFalhas(int falhas) {
+        this.falhas = falhas;
+    }
+
+    public List<ItemLoteDTO> getItens() {
+        return itens;
+    }
+
+    public void setItens(List<ItemLoteDTO> itens) {
+        this.itens = itens;
+    }
+}
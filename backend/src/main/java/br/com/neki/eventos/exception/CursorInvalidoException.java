@@ -0,0 +1,7 @@
+package br.com.neki.eventos.exception;
+
+public class CursorInvalidoException extends RuntimeException {
+    public CursorInvalidoException(String message) {
+        super(message);
+    }
+}
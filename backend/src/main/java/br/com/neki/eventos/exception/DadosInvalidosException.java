@@ -0,0 +1,7 @@
+package br.com.neki.eventos.exception;
+
+public class DadosInvalidosException extends RuntimeException {
+    public DadosInvalidosException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package br.com.neki.eventos.exception;
+
+public class FormatoInvalidoException extends RuntimeException {
+    public FormatoInvalidoException(String message) {
+        super(message);
+    }
+}
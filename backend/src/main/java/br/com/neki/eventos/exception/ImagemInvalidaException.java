@@ -0,0 +1,7 @@
+package br.com.neki.eventos.exception;
+
+public class ImagemInvalidaException extends RuntimeException {
+    public ImagemInvalidaException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package br.com.neki.eventos.exception;
+
+public class LoteInvalidoException extends RuntimeException {
+    public LoteInvalidoException(String message) {
+        super(message);
+    }
+}
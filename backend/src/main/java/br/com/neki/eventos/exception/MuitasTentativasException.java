@@ -0,0 +1,15 @@
+package br.com.neki.eventos.exception;
+
+public class MuitasTentativasException extends RuntimeException {
+
+    private final long segundosParaNovaTentativa;
+
+    public MuitasTentativasException(String message, long segundosParaNovaTentativa) {
+        super(message);
+        this.segundosParaNovaTentativa = segundosParaNovaTentativa;
+    }
+
+    public long getSegundosParaNovaTentativa() {
+        return segundosParaNovaTentativa;
+    }
+}
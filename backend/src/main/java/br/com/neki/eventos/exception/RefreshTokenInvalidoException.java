@@ -0,0 +1,7 @@
+package br.com.neki.eventos.exception;
+
+public class RefreshTokenInvalidoException extends RuntimeException {
+    public RefreshTokenInvalidoException(String message) {
+        super(message);
+    }
+}
@@ -1,12 +1,18 @@
 package br.com.neki.eventos.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.List;
 
 @Entity
 @Table(name = "administradores")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Administrador.REGIAO_CACHE)
 public class Administrador {
 
+    public static final String REGIAO_CACHE = "administradores";
+    public static final String REGIAO_CACHE_POR_EMAIL = "administradores-por-email";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -20,7 +26,8 @@ public class Administrador {
     @Column(nullable = false)
     private String senha;
 
-    @OneToMany(mappedBy = "administrador", cascade = CascadeType.ALL, orphanRemoval = true)
+    // Só para navegação em consultas: sem cascade, gravar um administrador não carrega nem percorre os eventos
+    @OneToMany(mappedBy = "administrador")
     private List<Evento> eventos;
 
     public Long getId() {
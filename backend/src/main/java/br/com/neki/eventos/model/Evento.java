@@ -1,16 +1,22 @@
 package br.com.neki.eventos.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
-import org.hibernate.annotations.JdbcTypeCode;
-import org.hibernate.type.SqlTypes;
 
 @Entity
 @Table(name = "eventos")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Evento.REGIAO_CACHE)
 public class Evento {
 
+    public static final String REGIAO_CACHE = "eventos";
+
+    // Sequência com incremento 50 em vez de IDENTITY: o Hibernate reserva os ids em blocos e
+    // consegue agrupar os INSERTs em lotes JDBC (com IDENTITY cada INSERT precisa voltar ao banco)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "eventos_seq")
+    @SequenceGenerator(name = "eventos_seq", sequenceName = "eventos_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -22,15 +28,27 @@ public class Evento {
     @Column(nullable = false)
     private String localizacao;
 
-    @Lob
-    @JdbcTypeCode(SqlTypes.BINARY)
-    @Column(name = "imagem")
-    private byte[] imagem;
+    // Chave (SHA-256) da imagem no ImageStore; o binário não fica mais na tabela
+    @Column(name = "imagem_chave", length = 64)
+    private String imagemChave;
+
+    @Column(name = "imagem_content_type", length = 50)
+    private String imagemContentType;
+
+    @Column(name = "imagem_tamanho")
+    private Long imagemTamanho;
+
+    @Column(name = "imagem_largura")
+    private Integer imagemLargura;
+
+    @Column(name = "imagem_altura")
+    private Integer imagemAltura;
 
     @Column(name = "imagem_url")
     private String imagemUrl;
 
-    @ManyToOne
+    // LAZY: quase todo uso precisa só do id (que o proxy já tem); quem precisar do administrador busca explicitamente
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "administrador_id", nullable = false)
     private Administrador administrador;
 
@@ -66,12 +84,44 @@ public class Evento {
         this.localizacao = localizacao;
     }
 
-    public byte[] getImagem() {
-        return imagem;
+    public String getImagemChave() {
+        return imagemChave;
+    }
+
+    public void setImagemChave(String imagemChave) {
+        this.imagemChave = imagemChave;
+    }
+
+    public String getImagemContentType() {
+        return imagemContentType;
+    }
+
+    public void setImagemContentType(String imagemContentType) {
+        this.imagemContentType = imagemContentType;
+    }
+
+    public Long getImagemTamanho() {
+        return imagemTamanho;
+    }
+
+    public void setImagemTamanho(Long imagemTamanho) {
+        this.imagemTamanho = imagemTamanho;
+    }
+
+    public Integer getImagemLargura() {
+        return imagemLargura;
+    }
+
+    public void setImagemLargura(Integer imagemLargura) {
+        this.imagemLargura = imagemLargura;
+    }
+
+    public Integer getImagemAltura() {
+        return imagemAltura;
     }
 
-    public void setImagem(byte[] imagem) {
-        this.imagem = imagem;
+    public void setImagemAltura(Integer imagemAltura) {
+        this.imagemAltura = imagemAltura;
     }
 
     public String getImagemUrl() {
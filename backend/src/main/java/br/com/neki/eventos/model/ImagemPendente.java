@@ -0,0 +1,59 @@
+package br.com.neki.eventos.model;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+// Imagem a conferir na próxima limpeza (ImagemService.removerNaoUtilizadas) depois da carência
+@Entity
+@Table(name = "imagens_pendentes")
+public class ImagemPendente implements Persistable<String> {
+
+    @Id
+    @Column(length = 64)
+    private String chave;
+
+    // Início da carência: a gravação do upload ou a exclusão do último evento que usava a imagem
+    @Column(name = "registrada_em", nullable = false)
+    private Instant registradaEm;
+
+    // Só é criada para inserir (as renovações são um update), então o save faz persist sem o select do merge
+    @Transient
+    private boolean nova;
+
+    public ImagemPendente() {
+    }
+
+    public ImagemPendente(String chave, Instant registradaEm) {
+        this.chave = chave;
+        this.registradaEm = registradaEm;
+        this.nova = true;
+    }
+
+    @Override
+    public String getId() {
+        return chave;
+    }
+
+    @Override
+    public boolean isNew() {
+        return nova;
+    }
+
+    public String getChave() {
+        return chave;
+    }
+
+    public void setChave(String chave) {
+        this.chave = chave;
+    }
+
+    public Instant getRegistradaEm() {
+        return registradaEm;
+    }
+
+    public void setRegistradaEm(Instant registradaEm) {
+        this.registradaEm = registradaEm;
+    }
+}
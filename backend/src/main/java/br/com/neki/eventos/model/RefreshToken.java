@@ -0,0 +1,79 @@
+package br.com.neki.eventos.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+@Entity
+@Table(name = "refresh_tokens")
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Só o SHA-256 do token é persistido
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    // Tokens gerados a partir do mesmo login compartilham a família (usada para detectar reuso)
+    @Column(nullable = false, length = 36)
+    private String familia;
+
+    @Column(name = "expira_em", nullable = false)
+    private Instant expiraEm;
+
+    @Column(name = "revogado_em")
+    private Instant revogadoEm;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "administrador_id", nullable = false)
+    private Administrador administrador;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTokenHash() {
+        return tokenHash;
+    }
+
+    public void setTokenHash(String tokenHash) {
+        this.tokenHash = tokenHash;
+    }
+
+    public String getFamilia() {
+        return familia;
+    }
+
+    public void setFamilia(String familia) {
+        this.familia = familia;
+    }
+
+    public Instant getExpiraEm() {
+        return expiraEm;
+    }
+
+    public void setExpiraEm(Instant expiraEm) {
+        this.expiraEm = expiraEm;
+    }
+
+    public Instant getRevogadoEm() {
+        return revogadoEm;
+    }
+
+    public void setRevogadoEm(Instant revogadoEm) {
+        this.revogadoEm = revogadoEm;
+    }
+
+    public Administrador getAdministrador() {
+        return administrador;
+    }
+
+    public void setAdministrador(Administrador administrador) {
+        this.administrador = administrador;
+    }
+}
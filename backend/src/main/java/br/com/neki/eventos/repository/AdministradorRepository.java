@@ -1,9 +1,26 @@
 package br.com.neki.eventos.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import br.com.neki.eventos.model.Administrador;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface AdministradorRepository extends JpaRepository<Administrador, Long> {
+
+    // Resultado guardado no cache de consultas; a entidade vem da região de administradores
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Administrador.REGIAO_CACHE_POR_EMAIL)
+    })
     Optional<Administrador> findByEmail(String email);
+
+    // Validação dos lotes: só confere quais ids existem, sem ler as linhas
+    @Query("select a.id from Administrador a where a.id in :ids")
+    List<Long> buscarIdsExistentes(@Param("ids") Collection<Long> ids);
 }
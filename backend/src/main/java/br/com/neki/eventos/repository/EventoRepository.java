@@ -1,9 +1,60 @@
 package br.com.neki.eventos.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import br.com.neki.eventos.model.Evento;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
-public interface EventoRepository extends JpaRepository<Evento, Long> {
-    List<Evento> findByAdministradorId(Long administradorId);
+public interface EventoRepository extends JpaRepository<Evento, Long>, EventoRepositoryCustom {
+
+    // Limpeza de imagens: quais das chaves ainda são usadas por algum evento
+    @Query("select distinct e.imagemChave from Evento e where e.imagemChave in :chaves")
+    Set<String> buscarChavesUtilizadas(@Param("chaves") Collection<String> chaves);
+
+    // Metadados das imagens que algum evento já usa (iguais em todos os eventos com a mesma chave)
+    @Query("""
+            select new br.com.neki.eventos.repository.ImagemResumo(
+                e.imagemChave, min(e.imagemContentType), min(e.imagemTamanho), min(e.imagemLargura), min(e.imagemAltura))
+            from Evento e
+            where e.imagemChave in :chaves
+            group by e.imagemChave
+            """)
+    List<ImagemResumo> buscarImagensEmUso(@Param("chaves") Collection<String> chaves);
+
+    @Query("""
+            select new br.com.neki.eventos.repository.ImagemResumo(
+                e.imagemChave, e.imagemContentType, e.imagemTamanho, e.imagemLargura, e.imagemAltura)
+            from Evento e
+            where e.id = :id
+            """)
+    Optional<ImagemResumo> buscarImagemResumo(@Param("id") Long id);
+
+    @Query("""
+            select new br.com.neki.eventos.repository.EventoResumo(
+                e.id, e.nome, e.data, e.localizacao, e.imagemUrl,
+                case when e.imagemChave is not null then true else false end)
+            from Evento e
+            where e.administrador.id = :administradorId
+            order by e.data asc, e.id asc
+            """)
+    List<EventoResumo> listarResumosPorAdministrador(@Param("administradorId") Long administradorId);
+
+    // Exportação: percorre a tabela com um cursor do banco (fetch size) em vez de carregar tudo.
+    // Precisa de uma transação aberta enquanto o Stream é consumido. Sem join com administradores:
+    // o arquivo só leva o administrador_id.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("select e from Evento e order by e.id")
+    Stream<Evento> percorrerTodos();
 }
@@ -0,0 +1,13 @@
+package br.com.neki.eventos.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface EventoRepositoryCustom {
+
+    // Página da listagem por data com filtros opcionais; com data e id informados, começa logo após esse evento (keyset)
+    List<EventoResumo> buscarPagina(FiltroEventos filtro, LocalDateTime aposData, Long aposId, int limite);
+
+    // Busca textual em nome e localização, do mais relevante para o menos relevante
+    List<EventoResumo> buscarTexto(String texto, int deslocamento, int limite);
+}
@@ -0,0 +1,163 @@
+package br.com.neki.eventos.repository;
+
+import br.com.neki.eventos.model.Evento;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Monta a consulta só com os critérios informados, para que o plano use o índice adequado:
+// (administrador_id, data, id) quando filtra por administrador e (data, id) nos demais casos
+class EventoRepositoryImpl implements EventoRepositoryCustom {
+
+    private static final char ESCAPE = '\\';
+
+    // Correspondência no vetor de busca (palavras com stemming, prefixos) ou por trigramas (erros de digitação).
+    // O ranking soma a relevância textual à similaridade da palavra mais próxima; empates vão por data.
+    private static final String SQL_BUSCA = """
+            select e.id, e.nome, e.data, e.localizacao, e.imagem_url, e.imagem_chave is not null as possui_imagem
+            from eventos e
+            cross join to_tsquery('portuguese', :consulta) as q
+            where e.busca @@ q
+               or :texto <% lower(e.nome)
+               or :texto <% lower(e.localizacao)
+            order by ts_rank_cd(e.busca, q)
+                   + greatest(word_similarity(:texto, lower(e.nome)), word_similarity(:texto, lower(e.localizacao))) desc,
+                     e.data asc, e.id asc
+            limit :limite offset :deslocamento
+            """;
+
+    // O limiar padrão do pg_trgm (0.6) não aceita uma letra trocada em palavras curtas ("rekife" x "recife")
+    private static final String LIMIAR_SIMILARIDADE = "0.4";
+
+    private static final RowMapper<EventoResumo> MAPEADOR_RESUMO = (rs, linha) -> new EventoResumo(
+            rs.getLong("id"),
+            rs.getString("nome"),
+            rs.getObject("data", LocalDateTime.class),
+            rs.getString("localizacao"),
+            rs.getString("imagem_url"),
+            rs.getBoolean("possui_imagem"));
+
+    private final EntityManager entityManager;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    // A coluna de busca e os índices de trigramas só existem no PostgreSQL (migração V3)
+    private volatile Boolean buscaTextualDisponivel;
+
+    EventoRepositoryImpl(EntityManager entityManager, NamedParameterJdbcTemplate jdbcTemplate) {
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<EventoResumo> buscarPagina(FiltroEventos filtro, LocalDateTime aposData, Long aposId, int limite) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EventoResumo> consulta = cb.createQuery(EventoResumo.class);
+        Root<Evento> evento = consulta.from(Evento.class);
+
+        Path<LocalDateTime> data = evento.get("data");
+        Path<Long> id = evento.get("id");
+
+        consulta.select(cb.construct(EventoResumo.class,
+                id,
+                evento.get("nome"),
+                data,
+                evento.get("localizacao"),
+                evento.get("imagemUrl"),
+                cb.<Boolean>selectCase()
+                        .when(cb.isNotNull(evento.get("imagemChave")), true)
+                        .otherwise(false)));
+
+        List<Predicate> condicoes = new ArrayList<>();
+        if (filtro.getAdministradorId() != null) {
+            condicoes.add(cb.equal(evento.get("administrador").get("id"), filtro.getAdministradorId()));
+        }
+        if (filtro.getDe() != null) {
+            condicoes.add(cb.greaterThanOrEqualTo(data, filtro.getDe()));
+        }
+        if (filtro.getAte() != null) {
+            condicoes.add(cb.lessThanOrEqualTo(data, filtro.getAte()));
+        }
+        if (filtro.getTexto() != null) {
+            String padrao = "%" + escaparLike(filtro.getTexto().toLowerCase()) + "%";
+            condicoes.add(cb.or(
+                    cb.like(cb.lower(evento.get("nome")), padrao, ESCAPE),
+                    cb.like(cb.lower(evento.get("localizacao")), padrao, ESCAPE)));
+        }
+        if (aposData != null && aposId != null) {
+            condicoes.add(cb.or(
+                    cb.greaterThan(data, aposData),
+                    cb.and(cb.equal(data, aposData), cb.greaterThan(id, aposId))));
+        }
+
+        consulta.where(condicoes.toArray(Predicate[]::new))
+                .orderBy(cb.asc(data), cb.asc(id));
+
+        return entityManager.createQuery(consulta)
+                .setMaxResults(limite)
+                .getResultList();
+    }
+
+    @Override
+    public List<EventoResumo> buscarTexto(String texto, int deslocamento, int limite) {
+        if (!buscaTextualDisponivel()) {
+            // Sem PostgreSQL (ex.: H2 nos testes): mesma busca por trecho do filtro q, sem ranking
+            List<EventoResumo> eventos = buscarPagina(new FiltroEventos(null, null, null, texto), null, null,
+                    deslocamento + limite);
+            return eventos.subList(Math.min(deslocamento, eventos.size()), eventos.size());
+        }
+
+        String consulta = montarConsultaPrefixos(texto);
+        if (consulta.isEmpty()) {
+            return List.of();
+        }
+
+        // Vale só para a transação corrente (set_config local), que o serviço abre para a busca
+        jdbcTemplate.getJdbcTemplate().queryForObject(
+                "select set_config('pg_trgm.word_similarity_threshold', ?, true)", String.class, LIMIAR_SIMILARIDADE);
+
+        MapSqlParameterSource parametros = new MapSqlParameterSource()
+                .addValue("consulta", consulta)
+                .addValue("texto", texto.toLowerCase())
+                .addValue("limite", limite)
+                .addValue("deslocamento", deslocamento);
+        return jdbcTemplate.query(SQL_BUSCA, parametros, MAPEADOR_RESUMO);
+    }
+
+    // "show rec" vira "show:* & rec:*": todas as palavras, cada uma também como prefixo.
+    // Só letras e dígitos passam, então a entrada do usuário não altera a sintaxe do tsquery.
+    private static String montarConsultaPrefixos(String texto) {
+        return Arrays.stream(texto.toLowerCase().split("[^\\p{L}\\p{N}]+"))
+                .filter(palavra -> !palavra.isEmpty())
+                .map(palavra -> palavra + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+
+    private boolean buscaTextualDisponivel() {
+        Boolean disponivel = buscaTextualDisponivel;
+        if (disponivel == null) {
+            disponivel = jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<Boolean>) conexao ->
+                    "PostgreSQL".equals(conexao.getMetaData().getDatabaseProductName()));
+            buscaTextualDisponivel = disponivel;
+        }
+        return Boolean.TRUE.equals(disponivel);
+    }
+
+    private static String escaparLike(String texto) {
+        return texto.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
@@ -0,0 +1,49 @@
+package br.com.neki.eventos.repository;
+
+import java.time.LocalDateTime;
+
+// Projeção usada nas listagens: traz apenas as colunas exibidas e um indicador
+// calculado no SQL de que existe imagem, sem carregar o binário.
+public class EventoResumo {
+
+    private final Long id;
+    private final String nome;
+    private final LocalDateTime data;
+    private final String localizacao;
+    private final String imagemUrl;
+    private final boolean possuiImagem;
+
+    public EventoResumo(Long id, String nome, LocalDateTime data, String localizacao,
+                        String imagemUrl, Boolean possuiImagem) {
+        this.id = id;
+        this.nome = nome;
+        this.data = data;
+        this.localizacao = localizacao;
+        this.imagemUrl = imagemUrl;
+        this.possuiImagem = Boolean.TRUE.equals(possuiImagem);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public LocalDateTime getData() {
+        return data;
+    }
+
+    public String getLocalizacao() {
+        return localizacao;
+    }
+
+    public String getImagemUrl() {
+        return imagemUrl;
+    }
+
+    public boolean isPossuiImagem() {
+        return possuiImagem;
+    }
+}
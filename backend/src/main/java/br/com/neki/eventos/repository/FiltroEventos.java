@@ -0,0 +1,44 @@
+package br.com.neki.eventos.repository;
+
+import java.time.LocalDateTime;
+
+// Critérios opcionais da listagem de eventos; campos nulos não filtram
+public class FiltroEventos {
+
+    private final LocalDateTime de;
+    private final LocalDateTime ate;
+    private final Long administradorId;
+    private final String texto;
+
+    public FiltroEventos(LocalDateTime de, LocalDateTime ate, Long administradorId, String texto) {
+        this.de = de;
+        this.ate = ate;
+        this.administradorId = administradorId;
+        this.texto = texto == null || texto.isBlank() ? null : texto.trim();
+    }
+
+    public static FiltroEventos vazio() {
+        return new FiltroEventos(null, null, null, null);
+    }
+
+    public LocalDateTime getDe() {
+        return de;
+    }
+
+    public LocalDateTime getAte() {
+        return ate;
+    }
+
+    public Long getAdministradorId() {
+        return administradorId;
+    }
+
+    public String getTexto() {
+        return texto;
+    }
+
+    // Identifica o filtro nas chaves do cache de listagens
+    public String chave() {
+        return de + "|" + ate + "|" + administradorId + "|" + (texto != null ? texto.toLowerCase() : null);
+    }
+}
@@ -0,0 +1,34 @@
+package br.com.neki.eventos.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import br.com.neki.eventos.model.ImagemPendente;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface ImagemPendenteRepository extends JpaRepository<ImagemPendente, String> {
+
+    @Query("select p.chave from ImagemPendente p where p.chave in :chaves")
+    List<String> buscarRegistradas(@Param("chaves") Collection<String> chaves);
+
+    // Recomeça a carência das chaves já registradas
+    @Transactional
+    @Modifying
+    @Query("update ImagemPendente p set p.registradaEm = :agora where p.chave in :chaves")
+    int renovar(@Param("chaves") Collection<String> chaves, @Param("agora") Instant agora);
+
+    // Próximas chaves com a carência vencida, das mais antigas para as mais novas
+    @Query("select p.chave from ImagemPendente p where p.registradaEm < :limite order by p.registradaEm")
+    List<String> buscarAnterioresA(@Param("limite") Instant limite, Limit quantidade);
+
+    // Só remove se a carência não tiver sido renovada depois de "limite" (um upload do mesmo conteúdo)
+    @Transactional
+    @Modifying
+    @Query("delete from ImagemPendente p where p.chave in :chaves and p.registradaEm < :limite")
+    int removerAnterioresA(@Param("chaves") Collection<String> chaves, @Param("limite") Instant limite);
+}
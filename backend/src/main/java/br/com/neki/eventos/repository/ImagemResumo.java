@@ -0,0 +1,39 @@
+package br.com.neki.eventos.repository;
+
+// Metadados da imagem de um evento, suficientes para responder o download sem ler o arquivo
+public class ImagemResumo {
+
+    private final String chave;
+    private final String contentType;
+    private final Long tamanho;
+    private final Integer largura;
+    private final Integer altura;
+
+    public ImagemResumo(String chave, String contentType, Long tamanho, Integer largura, Integer altura) {
+        this.chave = chave;
+        this.contentType = contentType;
+        this.tamanho = tamanho;
+        this.largura = largura;
+        this.altura = altura;
+    }
+
+    public String getChave() {
+        return chave;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public Long getTamanho() {
+        return tamanho;
+    }
+
+    public Integer getLargura() {
+        return largura;
+    }
+
+    public Integer getAltura() {
+        return altura;
+    }
+}
@@ -0,0 +1,33 @@
+package br.com.neki.eventos.repository;
+
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import br.com.neki.eventos.model.RefreshToken;
+import java.time.Instant;
+import java.util.Optional;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    // Renovação: o novo JWT precisa do e-mail e do nome, então o administrador vem na mesma consulta
+    @EntityGraph(attributePaths = "administrador")
+    Optional<RefreshToken> findWithAdministradorByTokenHash(String tokenHash);
+
+    // Revoga só se ainda estiver valendo; com duas renovações simultâneas do mesmo token, a segunda
+    // espera o bloqueio da linha e não altera nada (0), o que a trata como reuso
+    @Modifying
+    @Query("update RefreshToken r set r.revogadoEm = :agora where r.id = :id and r.revogadoEm is null")
+    int revogarSeAtivo(@Param("id") Long id, @Param("agora") Instant agora);
+
+    @Modifying
+    @Query("update RefreshToken r set r.revogadoEm = :agora where r.familia = :familia and r.revogadoEm is null")
+    int revogarFamilia(@Param("familia") String familia, @Param("agora") Instant agora);
+
+    @Modifying
+    @Query("delete from RefreshToken r where r.expiraEm < :limite")
+    int excluirExpirados(@Param("limite") Instant limite);
+}
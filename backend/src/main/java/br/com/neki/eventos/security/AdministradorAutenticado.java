@@ -0,0 +1,37 @@
+package br.com.neki.eventos.security;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.security.Principal;
+import java.util.List;
+
+// Principal montado só com as claims do JWT verificado, sem consulta ao banco
+public class AdministradorAutenticado implements Principal {
+
+    private final Long id;
+    private final String email;
+    private final List<GrantedAuthority> authorities;
+
+    public AdministradorAutenticado(Long id, String email, List<GrantedAuthority> authorities) {
+        this.id = id;
+        this.email = email;
+        this.authorities = authorities;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
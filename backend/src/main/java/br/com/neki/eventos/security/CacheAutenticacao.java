@@ -0,0 +1,75 @@
+package br.com.neki.eventos.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+
+// Principal já extraído de um token verificado, para que requisições seguintes com o mesmo JWT
+// não precisem validar a assinatura de novo. A entrada vive no máximo até o TTL
+// configurado ou até a expiração do token, o que vier primeiro.
+@Component
+public class CacheAutenticacao {
+
+    private final Cache<String, Entrada> cache;
+
+    public CacheAutenticacao(@Value("${app.jwt.cache.tamanho-maximo:10000}") long tamanhoMaximo,
+                             @Value("${app.jwt.cache.ttl:PT5M}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfter(new Expiry<String, Entrada>() {
+                    @Override
+                    public long expireAfterCreate(String chave, Entrada entrada, long agora) {
+                        long ateExpirarToken = Duration.ofMillis(entrada.expiraEm - System.currentTimeMillis()).toNanos();
+                        return Math.max(0, Math.min(ttl.toNanos(), ateExpirarToken));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String chave, Entrada entrada, long agora, long duracaoAtual) {
+                        return expireAfterCreate(chave, entrada, agora);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String chave, Entrada entrada, long agora, long duracaoAtual) {
+                        return duracaoAtual;
+                    }
+                })
+                .build();
+    }
+
+    public Entrada buscar(String token) {
+        return cache.getIfPresent(hash(token));
+    }
+
+    public void guardar(String token, AdministradorAutenticado administrador, int versao, String jti, Date expiraEm) {
+        if (expiraEm != null) {
+            cache.put(hash(token), new Entrada(administrador, versao, jti, expiraEm.getTime()));
+        }
+    }
+
+    // Logout: o token revogado não pode continuar aceito pelo cache
+    public void invalidarToken(String token) {
+        cache.invalidate(hash(token));
+    }
+
+    // O token em si não fica guardado, só o seu hash
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível na JVM", e);
+        }
+    }
+
+    public record Entrada(AdministradorAutenticado administrador, int versao, String jti, long expiraEm) {
+    }
+}
@@ -0,0 +1,64 @@
+package br.com.neki.eventos.security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Filtro de Bloom thread-safe sobre um vetor de bits atômico. Responde "talvez contenha" ou
+// "certamente não contém", o que permite descartar a maioria das consultas sem tocar no conjunto exato.
+final class FiltroBloom {
+
+    private final AtomicLongArray bits;
+    private final int totalBits;
+    private final int funcoes;
+
+    FiltroBloom(int capacidadeEsperada, double taxaFalsoPositivo) {
+        int m = (int) Math.ceil(-capacidadeEsperada * Math.log(taxaFalsoPositivo) / (Math.log(2) * Math.log(2)));
+        this.totalBits = Math.max(64, m);
+        this.funcoes = Math.max(1, (int) Math.round((double) totalBits / capacidadeEsperada * Math.log(2)));
+        this.bits = new AtomicLongArray((totalBits + 63) / 64);
+    }
+
+    void adicionar(String valor) {
+        long[] hashes = hashes(valor);
+        for (int i = 0; i < funcoes; i++) {
+            int posicao = posicao(hashes, i);
+            int indice = posicao >>> 6;
+            long mascara = 1L << (posicao & 63);
+            long atual;
+            do {
+                atual = bits.get(indice);
+                if ((atual & mascara) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(indice, atual, atual | mascara));
+        }
+    }
+
+    boolean talvezContenha(String valor) {
+        long[] hashes = hashes(valor);
+        for (int i = 0; i < funcoes; i++) {
+            int posicao = posicao(hashes, i);
+            if ((bits.get(posicao >>> 6) & (1L << (posicao & 63))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Hashing duplo (Kirsch-Mitzenmacher): h1 + i*h2 simula k funções independentes
+    private int posicao(long[] hashes, int i) {
+        long combinado = hashes[0] + i * hashes[1];
+        return (int) Long.remainderUnsigned(combinado, totalBits);
+    }
+
+    private static long[] hashes(String valor) {
+        long h1 = 0xcbf29ce484222325L;
+        long h2 = 0x84222325cbf29ce4L;
+        for (byte b : valor.getBytes(StandardCharsets.UTF_8)) {
+            h1 = (h1 ^ b) * 0x100000001b3L;
+            h2 = (h2 ^ b) * 0xff51afd7ed558ccdL;
+        }
+        h2 ^= h2 >>> 33;
+        return new long[]{h1, h2 | 1};
+    }
+}
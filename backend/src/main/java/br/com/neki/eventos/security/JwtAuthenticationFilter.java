@@ -1,13 +1,12 @@
 package br.com.neki.eventos.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -18,11 +17,15 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final CacheAutenticacao cacheAutenticacao;
+    private final RevogacaoTokens revogacaoTokens;
 
-    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtService jwtService,
+                                   CacheAutenticacao cacheAutenticacao,
+                                   RevogacaoTokens revogacaoTokens) {
         this.jwtService = jwtService;
-        this.userDetailsService = userDetailsService;
+        this.cacheAutenticacao = cacheAutenticacao;
+        this.revogacaoTokens = revogacaoTokens;
     }
 
     @Override
@@ -36,18 +39,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (authHeader != null && authHeader.startsWith(prefix)) {
             String jwt = authHeader.substring(prefix.length());
 
-            if (jwtService.isTokenValid(jwt)) {
-                String username = jwtService.extractUsername(jwt);
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                CacheAutenticacao.Entrada entrada = cacheAutenticacao.buscar(jwt);
 
-                if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails user = userDetailsService.loadUserByUsername(username);
+                if (entrada == null) {
+                    entrada = autenticar(jwt);
+                }
 
-                    if (user != null) {
-                        UsernamePasswordAuthenticationToken authToken =
-                                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
-                        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                        SecurityContextHolder.getContext().setAuthentication(authToken);
-                    }
+                // A revogação é conferida a cada requisição, inclusive nos acertos do cache
+                if (entrada != null && !revogado(entrada)) {
+                    AdministradorAutenticado admin = entrada.administrador();
+                    UsernamePasswordAuthenticationToken authToken =
+                            new UsernamePasswordAuthenticationToken(admin, null, admin.getAuthorities());
+                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authToken);
                 }
             }
         }
@@ -55,6 +60,30 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         chain.doFilter(request, response);
     }
 
+    // Valida o token (um único parse) e monta o principal só com as claims, guardando no cache
+    private CacheAutenticacao.Entrada autenticar(String jwt) {
+        Claims claims = jwtService.validar(jwt).orElse(null);
+        if (claims == null) {
+            return null;
+        }
+
+        AdministradorAutenticado admin = jwtService.extrairAdministrador(claims).orElse(null);
+        if (admin == null) {
+            return null;
+        }
+
+        int versao = jwtService.extrairVersao(claims);
+        String jti = jwtService.extrairJti(claims);
+        cacheAutenticacao.guardar(jwt, admin, versao, jti, claims.getExpiration());
+        return new CacheAutenticacao.Entrada(admin, versao, jti, claims.getExpiration().getTime());
+    }
+
+    // Ambas as verificações são O(1): mapa de versões e filtro de Bloom dos jti revogados
+    private boolean revogado(CacheAutenticacao.Entrada entrada) {
+        return revogacaoTokens.revogado(entrada.administrador().getId(), entrada.versao())
+                || revogacaoTokens.tokenRevogado(entrada.jti());
+    }
+
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
         String path = request.getServletPath();
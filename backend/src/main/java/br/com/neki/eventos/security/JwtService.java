@@ -1,57 +1,140 @@
 package br.com.neki.eventos.security;
 
+import br.com.neki.eventos.model.Administrador;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class JwtService {
 
+    static final String CLAIM_ID = "id";
+    static final String CLAIM_ROLES = "roles";
+    static final String CLAIM_VERSAO = "ver";
+
+    private static final List<String> ROLES_ADMINISTRADOR = List.of("ADMIN");
+
     @Value("${app.jwt.secret:default-default-default-default-default}")
     private String jwtSecret;
 
     @Value("${app.jwt.expiration:86400000}")
     private long jwtExpirationMs;
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+    private final RevogacaoTokens revogacaoTokens;
+
+    private final Timer tempoAssinatura;
+    private final Timer tempoValidacaoAceita;
+    private final Timer tempoValidacaoRecusada;
+
+    // Chave e parser são imutáveis e thread-safe: criados uma vez só
+    private Key signingKey;
+    private JwtParser parser;
+
+    public JwtService(RevogacaoTokens revogacaoTokens, MeterRegistry meterRegistry) {
+        this.revogacaoTokens = revogacaoTokens;
+
+        this.tempoAssinatura = Timer.builder("auth.jwt.assinatura")
+                .description("Tempo para montar e assinar um token")
+                .register(meterRegistry);
+        this.tempoValidacaoAceita = Timer.builder("auth.jwt.validacao")
+                .description("Tempo do parse e da verificação de assinatura de um token")
+                .tag("resultado", "aceito")
+                .register(meterRegistry);
+        this.tempoValidacaoRecusada = Timer.builder("auth.jwt.validacao")
+                .description("Tempo do parse e da verificação de assinatura de um token")
+                .tag("resultado", "recusado")
+                .register(meterRegistry);
     }
 
-    public String generateToken(String subjectEmail) {
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+
+    // O token leva id, papéis e versão do administrador para que a autenticação não precise do banco,
+    // e um jti próprio para poder ser revogado individualmente no logout
+    public String generateToken(Administrador admin) {
+        return tempoAssinatura.record(() -> assinar(admin));
+    }
+
+    private String assinar(Administrador admin) {
         Date now = new Date();
         Date exp = new Date(now.getTime() + jwtExpirationMs);
 
         return Jwts.builder()
-                .setSubject(subjectEmail)
+                .setId(UUID.randomUUID().toString())
+                .setSubject(admin.getEmail())
+                .claim(CLAIM_ID, admin.getId())
+                .claim(CLAIM_ROLES, ROLES_ADMINISTRADOR)
+                .claim(CLAIM_VERSAO, revogacaoTokens.versaoAtual(admin.getId()))
                 .setIssuedAt(now)
                 .setExpiration(exp)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public String extractUsername(String token) {
-        return parseAllClaims(token).getSubject();
-    }
-
-    public boolean isTokenValid(String token) {
+    // Valida assinatura e expiração com um único parse; vazio se o token for inválido
+    public Optional<Claims> validar(String token) {
         try {
-            parseAllClaims(token);
-            return true;
+            return Optional.of(parseAllClaims(token));
         } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            return Optional.empty();
         }
     }
 
+    // Monta o principal a partir das claims; vazio para tokens sem as claims exigidas (emitidos antes delas)
+    public Optional<AdministradorAutenticado> extrairAdministrador(Claims claims) {
+        Long id = claims.get(CLAIM_ID, Long.class);
+        List<?> roles = claims.get(CLAIM_ROLES, List.class);
+        if (id == null || claims.getSubject() == null || roles == null) {
+            return Optional.empty();
+        }
+
+        List<GrantedAuthority> authorities = roles.stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority("ROLE_" + role))
+                .toList();
+        return Optional.of(new AdministradorAutenticado(id, claims.getSubject(), authorities));
+    }
+
+    public int extrairVersao(Claims claims) {
+        Integer versao = claims.get(CLAIM_VERSAO, Integer.class);
+        return versao != null ? versao : 0;
+    }
+
+    public String extrairJti(Claims claims) {
+        return claims.getId();
+    }
+
+    public boolean isTokenValid(String token) {
+        return validar(token).isPresent();
+    }
+
     private Claims parseAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        long inicio = System.nanoTime();
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            tempoValidacaoAceita.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            return claims;
+        } catch (RuntimeException e) {
+            tempoValidacaoRecusada.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            throw e;
+        }
     }
 }
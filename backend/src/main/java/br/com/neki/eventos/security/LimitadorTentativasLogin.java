@@ -0,0 +1,107 @@
+package br.com.neki.eventos.security;
+
+import br.com.neki.eventos.exception.MuitasTentativasException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Locale;
+
+// Janela deslizante de tentativas de login por IP (todas) e por e-mail (só as que erraram a senha), mantida em memória.
+// Cada chave guarda no máximo "limite" instantes, e chaves inativas expiram junto com a janela.
+@Component
+public class LimitadorTentativasLogin {
+
+    private final Duration janela;
+    private final int limitePorEmail;
+    private final int limitePorIp;
+    private final Cache<String, Deque<Long>> tentativas;
+    private final Counter bloqueadas;
+
+    public LimitadorTentativasLogin(MeterRegistry meterRegistry,
+                                    @Value("${app.auth.limite.janela:PT1M}") Duration janela,
+                                    @Value("${app.auth.limite.por-email:10}") int limitePorEmail,
+                                    @Value("${app.auth.limite.por-ip:30}") int limitePorIp,
+                                    @Value("${app.auth.limite.chaves-maximas:100000}") long chavesMaximas) {
+        this.janela = janela;
+        this.limitePorEmail = limitePorEmail;
+        this.limitePorIp = limitePorIp;
+        this.tentativas = Caffeine.newBuilder()
+                .maximumSize(chavesMaximas)
+                .expireAfterAccess(janela)
+                .build();
+        this.bloqueadas = Counter.builder("auth.login.bloqueadas")
+                .description("Tentativas de login recusadas pelo limite por e-mail ou IP")
+                .register(meterRegistry);
+    }
+
+    // Antes de conferir a senha: conta a tentativa no limite do IP e recusa se o IP ou o e-mail já estourou.
+    // O IP é conferido primeiro e um IP bloqueado não gasta as tentativas do e-mail.
+    public void verificar(String email, String ip) {
+        long agora = System.currentTimeMillis();
+        long espera = consumir("ip:" + ip, limitePorIp, agora);
+        if (espera == 0) {
+            espera = aguardar(chaveEmail(email), limitePorEmail, agora);
+        }
+        if (espera > 0) {
+            bloqueadas.increment();
+            throw new MuitasTentativasException("Muitas tentativas de login. Tente novamente mais tarde.", espera);
+        }
+    }
+
+    // Só as senhas erradas contam para o limite do e-mail; um login certo zera a contagem
+    public void registrarFalha(String email) {
+        consumir(chaveEmail(email), limitePorEmail, System.currentTimeMillis());
+    }
+
+    public void registrarSucesso(String email) {
+        tentativas.invalidate(chaveEmail(email));
+    }
+
+    private static String chaveEmail(String email) {
+        return "email:" + (email == null ? "" : email.toLowerCase(Locale.ROOT));
+    }
+
+    // Como consumir, mas sem registrar a tentativa
+    private long aguardar(String chave, int limite, long agora) {
+        Deque<Long> instantes = tentativas.getIfPresent(chave);
+        if (instantes == null) {
+            return 0;
+        }
+        synchronized (instantes) {
+            descartarAntigos(instantes, agora);
+            return instantes.size() >= limite ? segundosAteLiberar(instantes, agora) : 0;
+        }
+    }
+
+    // Devolve 0 se a tentativa foi aceita, ou quantos segundos faltam para liberar uma vaga
+    private long consumir(String chave, int limite, long agora) {
+        Deque<Long> instantes = tentativas.get(chave, k -> new ArrayDeque<>(limite));
+        synchronized (instantes) {
+            descartarAntigos(instantes, agora);
+            if (instantes.size() >= limite) {
+                return segundosAteLiberar(instantes, agora);
+            }
+            instantes.addLast(agora);
+            return 0;
+        }
+    }
+
+    private void descartarAntigos(Deque<Long> instantes, long agora) {
+        long inicioJanela = agora - janela.toMillis();
+        while (!instantes.isEmpty() && instantes.peekFirst() <= inicioJanela) {
+            instantes.pollFirst();
+        }
+    }
+
+    private long segundosAteLiberar(Deque<Long> instantes, long agora) {
+        long liberaEm = instantes.peekFirst() + janela.toMillis();
+        return Math.max(1, (liberaEm - agora + 999) / 1000);
+    }
+}
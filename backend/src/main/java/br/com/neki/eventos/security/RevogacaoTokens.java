@@ -0,0 +1,71 @@
+package br.com.neki.eventos.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Revogação de access tokens em memória, em dois níveis:
+// - versão por administrador: cada JWT carrega a versão vigente na emissão e deixa de valer quando ela é incrementada;
+// - jti revogados individualmente (logout), consultados por um filtro de Bloom antes do conjunto exato.
+// Como os access tokens são curtos, cada jti só precisa ficar guardado até a expiração do token.
+// Revogações não sobrevivem a um restart.
+@Component
+public class RevogacaoTokens {
+
+    private static final double TAXA_FALSO_POSITIVO = 0.01;
+
+    private final Map<Long, Integer> versoes = new ConcurrentHashMap<>();
+    private final Map<String, Long> jtisRevogados = new ConcurrentHashMap<>();
+    private final boolean habilitada;
+    private final int capacidadeFiltro;
+
+    private volatile FiltroBloom filtro;
+
+    public RevogacaoTokens(@Value("${app.jwt.verificar-revogacao:true}") boolean habilitada,
+                           @Value("${app.jwt.revogacao.capacidade:10000}") int capacidadeFiltro) {
+        this.habilitada = habilitada;
+        this.capacidadeFiltro = capacidadeFiltro;
+        this.filtro = new FiltroBloom(capacidadeFiltro, TAXA_FALSO_POSITIVO);
+    }
+
+    public int versaoAtual(Long administradorId) {
+        return versoes.getOrDefault(administradorId, 0);
+    }
+
+    public boolean revogado(Long administradorId, int versaoDoToken) {
+        return habilitada && versaoDoToken < versaoAtual(administradorId);
+    }
+
+    // O filtro responde "não revogado" para quase todos os tokens sem consultar o mapa
+    public boolean tokenRevogado(String jti) {
+        return habilitada && jti != null && filtro.talvezContenha(jti) && jtisRevogados.containsKey(jti);
+    }
+
+    // Invalida todos os tokens já emitidos para o administrador
+    public void revogarTodos(Long administradorId) {
+        versoes.merge(administradorId, 1, Integer::sum);
+    }
+
+    // Invalida um único token até a sua expiração
+    public synchronized void revogarToken(String jti, long expiraEm) {
+        if (jti == null || expiraEm <= System.currentTimeMillis()) {
+            return;
+        }
+        jtisRevogados.put(jti, expiraEm);
+        filtro.adicionar(jti);
+    }
+
+    // Descarta os jti de tokens já expirados e reconstrói o filtro, que não permite remoções
+    @Scheduled(fixedDelayString = "${app.jwt.revogacao.limpeza:PT10M}")
+    public synchronized void limparExpirados() {
+        long agora = System.currentTimeMillis();
+        jtisRevogados.values().removeIf(expiraEm -> expiraEm <= agora);
+
+        FiltroBloom novo = new FiltroBloom(Math.max(capacidadeFiltro, jtisRevogados.size() * 2), TAXA_FALSO_POSITIVO);
+        jtisRevogados.keySet().forEach(novo::adicionar);
+        filtro = novo;
+    }
+}
@@ -0,0 +1,104 @@
+package br.com.neki.eventos.security;
+
+import br.com.neki.eventos.exception.MuitasTentativasException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Executa a comparação BCrypt num pool próprio e limitado, para que rajadas de login não ocupem
+// as threads do Tomcat com CPU; com a fila cheia a tentativa é recusada com 429
+@Component
+public class VerificadorSenha {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Duration tempoMaximo;
+
+    private final Timer tempoEmFila;
+    private final Timer tempoHash;
+    private final Counter recusadas;
+
+    public VerificadorSenha(PasswordEncoder passwordEncoder,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.auth.bcrypt.threads:0}") int threads,
+                            @Value("${app.auth.bcrypt.fila:32}") int fila,
+                            @Value("${app.auth.bcrypt.tempo-maximo:PT5S}") Duration tempoMaximo) {
+        this.passwordEncoder = passwordEncoder;
+        this.tempoMaximo = tempoMaximo;
+
+        int tamanhoPool = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                tamanhoPool, tamanhoPool, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(fila),
+                tarefa -> {
+                    Thread thread = new Thread(tarefa, "bcrypt-" + contador.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.tempoEmFila = Timer.builder("auth.bcrypt.espera")
+                .description("Tempo que a verificação de senha aguardou na fila")
+                .register(meterRegistry);
+        this.tempoHash = Timer.builder("auth.bcrypt.verificacao")
+                .description("Tempo de CPU da comparação BCrypt")
+                .register(meterRegistry);
+        this.recusadas = Counter.builder("auth.bcrypt.recusadas")
+                .description("Verificações recusadas por fila cheia ou tempo esgotado")
+                .register(meterRegistry);
+        Gauge.builder("auth.bcrypt.fila", executor, e -> e.getQueue().size())
+                .description("Verificações de senha aguardando execução")
+                .register(meterRegistry);
+    }
+
+    public boolean verificar(String senha, String hash) {
+        long enfileirada = System.nanoTime();
+        Future<Boolean> resultado;
+        try {
+            resultado = executor.submit(() -> {
+                tempoEmFila.record(System.nanoTime() - enfileirada, TimeUnit.NANOSECONDS);
+                return tempoHash.record(() -> passwordEncoder.matches(senha, hash));
+            });
+        } catch (RejectedExecutionException e) {
+            throw sobrecarga();
+        }
+
+        try {
+            return resultado.get(tempoMaximo.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            resultado.cancel(true);
+            throw sobrecarga();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Verificação de senha interrompida", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha na verificação de senha", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.shutdownNow();
+    }
+
+    private MuitasTentativasException sobrecarga() {
+        recusadas.increment();
+        return new MuitasTentativasException("Servidor ocupado processando logins. Tente novamente em instantes.", 1);
+    }
+}
@@ -5,21 +5,32 @@ import br.com.neki.eventos.dto.AdministradorRequestDTO;
 import br.com.neki.eventos.exception.EmailJaCadastradoException;
 import br.com.neki.eventos.model.Administrador;
 import br.com.neki.eventos.repository.AdministradorRepository;
+import br.com.neki.eventos.security.VerificadorSenha;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
 
+@Timed("servicos")
 @Service
 public class AdministradorService {
 
     private final AdministradorRepository administradorRepository;
     private final PasswordEncoder passwordEncoder;
+    private final VerificadorSenha verificadorSenha;
+    private final EntityManagerFactory entityManagerFactory;
 
     public AdministradorService(AdministradorRepository administradorRepository,
-                                PasswordEncoder passwordEncoder) {
+                                PasswordEncoder passwordEncoder,
+                                VerificadorSenha verificadorSenha,
+                                EntityManagerFactory entityManagerFactory) {
         this.administradorRepository = administradorRepository;
         this.passwordEncoder = passwordEncoder;
+        this.verificadorSenha = verificadorSenha;
+        this.entityManagerFactory = entityManagerFactory;
     }
 
    
@@ -34,6 +45,7 @@ public class AdministradorService {
         admin.setSenha(passwordEncoder.encode(dto.getSenha()));
 
         Administrador salvo = administradorRepository.save(admin);
+        evictarCache(salvo.getId());
         return new AdministradorDTO(salvo.getId(), salvo.getNome(), salvo.getEmail());
     }
 
@@ -42,8 +54,16 @@ public class AdministradorService {
         return administradorRepository.findByEmail(email);
     }
 
-    // Verifica senha fornecida com a senha criptografada
+    // Toda escrita em administradores descarta o registro do cache de segundo nível e as buscas
+    // por e-mail já guardadas (inclusive as que não tinham encontrado ninguém)
+    private void evictarCache(Long id) {
+        entityManagerFactory.getCache().evict(Administrador.class, id);
+        entityManagerFactory.unwrap(SessionFactory.class).getCache()
+                .evictQueryRegion(Administrador.REGIAO_CACHE_POR_EMAIL);
+    }
+
+    // Verifica senha fornecida com a senha criptografada (no pool limitado do BCrypt)
     public boolean checkPassword(String raw, String encoded) {
-        return passwordEncoder.matches(raw, encoded);
+        return verificadorSenha.verificar(raw, encoded);
     }
 }
@@ -0,0 +1,36 @@
+package br.com.neki.eventos.service;
+
+import org.springframework.core.io.Resource;
+
+// Arquivo escolhido para responder um download de imagem
+public class ArquivoImagem {
+
+    private final Resource conteudo;
+    private final String etag;
+    private final String contentType;
+    private final boolean definitivo;
+
+    public ArquivoImagem(Resource conteudo, String etag, String contentType, boolean definitivo) {
+        this.conteudo = conteudo;
+        this.etag = etag;
+        this.contentType = contentType;
+        this.definitivo = definitivo;
+    }
+
+    public Resource getConteudo() {
+        return conteudo;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    // false quando o original está sendo servido no lugar de uma variante ainda não gerada
+    public boolean isDefinitivo() {
+        return definitivo;
+    }
+}
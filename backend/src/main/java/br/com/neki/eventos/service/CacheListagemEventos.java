@@ -0,0 +1,105 @@
+package br.com.neki.eventos.service;
+
+import br.com.neki.eventos.repository.FiltroEventos;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Respostas das listagens de eventos já serializadas em JSON: um acerto não consulta o banco nem passa pelo Jackson.
+// As listas por administrador são invalidadas individualmente; as páginas da listagem geral dependem de todos os
+// eventos, então qualquer escrita avança a geração e as chaves antigas deixam de ser consultadas (inclusive as
+// que estavam sendo carregadas no momento da escrita).
+@Component
+public class CacheListagemEventos {
+
+    private final AsyncCache<Long, byte[]> porAdministrador;
+    private final AsyncCache<String, byte[]> paginas;
+    private final AtomicLong geracaoPaginas = new AtomicLong();
+    private final ObjectMapper objectMapper;
+
+    public CacheListagemEventos(ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.eventos.cache.tamanho-maximo:32MB}") DataSize tamanhoMaximo,
+                                @Value("${app.eventos.cache.ttl:PT5M}") Duration ttl) {
+        this.objectMapper = objectMapper;
+        this.porAdministrador = criarCache(tamanhoMaximo.toBytes() / 2, ttl);
+        this.paginas = criarCache(tamanhoMaximo.toBytes() / 2, ttl);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, porAdministrador, "eventos.listagem.administrador");
+        CaffeineCacheMetrics.monitor(meterRegistry, paginas, "eventos.listagem.paginas");
+    }
+
+    public byte[] listaDoAdministrador(Long administradorId, Supplier<?> carregar) {
+        return obter(porAdministrador, administradorId, carregar);
+    }
+
+    public byte[] pagina(FiltroEventos filtro, String cursor, int tamanho, Supplier<?> carregar) {
+        String chave = geracaoPaginas.get() + "|" + filtro.chave() + "|" + tamanho + "|" + (cursor != null ? cursor : "");
+        return obter(paginas, chave, carregar);
+    }
+
+    // Chamado depois que a escrita foi gravada no banco
+    public void invalidar(Long administradorId) {
+        porAdministrador.synchronous().invalidate(administradorId);
+        geracaoPaginas.incrementAndGet();
+        paginas.synchronous().invalidateAll();
+    }
+
+    // O Cache.get(chave, função) executa a função dentro do ConcurrentHashMap.compute, que segura um monitor:
+    // com threads virtuais a consulta ao banco prenderia a thread portadora durante toda a carga. Aqui só o
+    // CompletableFuture entra no mapa; quem o inseriu faz a carga fora dele e os pedidos simultâneos esperam o mesmo futuro.
+    // Se a carga falha o futuro é cancelado (concluí-lo com a exceção faria o Caffeine registrar cada falha no log)
+    // e quem estava esperando tenta carregar por conta própria, como acontecia com o cache síncrono.
+    private <K> byte[] obter(AsyncCache<K, byte[]> cache, K chave, Supplier<?> carregar) {
+        while (true) {
+            CompletableFuture<byte[]> novo = new CompletableFuture<>();
+            CompletableFuture<byte[]> atual = cache.get(chave, (k, executor) -> novo);
+            if (atual == novo) {
+                try {
+                    byte[] json = serializar(carregar.get());
+                    novo.complete(json);
+                    return json;
+                } catch (RuntimeException | Error e) {
+                    novo.cancel(false);
+                    throw e;
+                }
+            }
+            try {
+                return atual.join();
+            } catch (CancellationException e) {
+                // A carga feita por outra requisição falhou
+            }
+        }
+    }
+
+    private byte[] serializar(Object resposta) {
+        try {
+            return objectMapper.writeValueAsBytes(resposta);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // O limite é em bytes de JSON, não em número de entradas
+    private static <K> AsyncCache<K, byte[]> criarCache(long bytesMaximos, Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumWeight(bytesMaximos)
+                .weigher((K chave, byte[] json) -> json.length)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+    }
+}
@@ -0,0 +1,37 @@
+package br.com.neki.eventos.service;
+
+import br.com.neki.eventos.exception.CursorInvalidoException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Continuação da busca textual. O ranking não é uma chave estável para keyset, então a busca pagina
+// por deslocamento; o cliente recebe o mesmo tipo de token opaco da listagem.
+final class CursorBusca {
+
+    private static final String PREFIXO = "busca:";
+
+    private CursorBusca() {
+    }
+
+    static String codificar(int deslocamento) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIXO + deslocamento).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static int decodificar(String token) {
+        try {
+            String bruto = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (!bruto.startsWith(PREFIXO)) {
+                throw new CursorInvalidoException("Cursor de busca inválido");
+            }
+            int deslocamento = Integer.parseInt(bruto.substring(PREFIXO.length()));
+            if (deslocamento < 0) {
+                throw new CursorInvalidoException("Cursor de busca inválido");
+            }
+            return deslocamento;
+        } catch (IllegalArgumentException e) {
+            throw new CursorInvalidoException("Cursor de busca inválido");
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.neki.eventos.service;
+
+import br.com.neki.eventos.exception.CursorInvalidoException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Posição de continuação da listagem paginada (data + id do último item entregue).
+// O cliente recebe apenas o token opaco em Base64 e devolve na próxima chamada.
+final class CursorEvento {
+
+    private static final String SEPARADOR = "|";
+
+    private final LocalDateTime data;
+    private final Long id;
+
+    CursorEvento(LocalDateTime data, Long id) {
+        this.data = data;
+        this.id = id;
+    }
+
+    LocalDateTime getData() {
+        return data;
+    }
+
+    Long getId() {
+        return id;
+    }
+
+    String codificar() {
+        String bruto = data + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(bruto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static CursorEvento decodificar(String token) {
+        try {
+            String bruto = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separador = bruto.lastIndexOf(SEPARADOR);
+            if (separador < 0) {
+                throw new CursorInvalidoException("Cursor de paginação inválido");
+            }
+            return new CursorEvento(
+                    LocalDateTime.parse(bruto.substring(0, separador)),
+                    Long.valueOf(bruto.substring(separador + 1))
+            );
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new CursorInvalidoException("Cursor de paginação inválido");
+        }
+    }
+}
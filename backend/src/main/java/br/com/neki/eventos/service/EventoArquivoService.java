@@ -0,0 +1,225 @@
+package br.com.neki.eventos.service;
+
+import br.com.neki.eventos.dto.EventoExportacaoDTO;
+import br.com.neki.eventos.dto.EventoRequestDTO;
+import br.com.neki.eventos.dto.ItemLoteDTO;
+import br.com.neki.eventos.dto.ResultadoImportacaoDTO;
+import br.com.neki.eventos.exception.FormatoInvalidoException;
+import br.com.neki.eventos.model.Evento;
+import br.com.neki.eventos.repository.EventoRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import com.fasterxml.jackson.databind.DatabindException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+// Importação e exportação de eventos em NDJSON (um objeto JSON por linha) ou CSV com cabeçalho.
+// As duas pontas trabalham registro a registro, então a memória usada não depende do tamanho do arquivo.
+@Service
+public class EventoArquivoService {
+
+    // Falhas devolvidas em detalhe na resposta da importação; as demais só entram na contagem
+    private static final int MAXIMO_ERROS_DETALHADOS = 100;
+    // Na exportação, a cada tantas linhas a saída é enviada e o contexto de persistência é limpo
+    private static final int LINHAS_POR_DESCARGA = 500;
+
+    private final EventoLoteService eventoLoteService;
+    private final EventoRepository eventoRepository;
+    private final CacheListagemEventos cacheListagem;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transacaoLeitura;
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper;
+    private final MeterRegistry meterRegistry;
+
+    public EventoArquivoService(EventoLoteService eventoLoteService,
+                                EventoRepository eventoRepository,
+                                CacheListagemEventos cacheListagem,
+                                EntityManager entityManager,
+                                TransactionTemplate transactionTemplate,
+                                ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry) {
+        this.eventoLoteService = eventoLoteService;
+        this.eventoRepository = eventoRepository;
+        this.cacheListagem = cacheListagem;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+
+        this.transacaoLeitura = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.transacaoLeitura.setReadOnly(true);
+
+        this.csvMapper = CsvMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+                .enable(CsvParser.Feature.TRIM_SPACES)
+                .build();
+    }
+
+    // Lê os registros conforme chegam e grava em blocos de app.eventos.lote.itens-por-transacao.
+    // Registros inválidos (campo faltando, data mal formatada, administrador inexistente) viram falhas
+    // e a leitura continua. Se o banco recusar um bloco, o criarBloco regrava os itens um a um e só os
+    // recusados entram em "falhas". Um arquivo corrompido interrompe a importação, mas os blocos já gravados ficam.
+    @Timed("servicos")
+    public ResultadoImportacaoDTO importar(InputStream entrada, FormatoArquivo formato) throws IOException {
+        ResultadoImportacaoDTO resultado = new ResultadoImportacaoDTO();
+        Set<Long> administradoresAfetados = new HashSet<>();
+        int tamanhoBloco = eventoLoteService.getItensPorTransacao();
+        List<EventoRequestDTO> bloco = new ArrayList<>(tamanhoBloco);
+        List<Integer> indicesBloco = new ArrayList<>(tamanhoBloco);
+        int indice = 0;
+
+        try (MappingIterator<EventoRequestDTO> registros = leitor(formato).readValues(entrada)) {
+            while (true) {
+                EventoRequestDTO registro;
+                try {
+                    if (!registros.hasNextValue()) {
+                        break;
+                    }
+                    registro = registros.nextValue();
+                } catch (DatabindException e) {
+                    registrar(resultado, ItemLoteDTO.falha(indice++, null, "Registro inválido: " + e.getOriginalMessage()));
+                    continue;
+                } catch (StreamReadException e) {
+                    throw new FormatoInvalidoException("Arquivo malformado no registro " + indice + ": "
+                            + e.getOriginalMessage() + " (" + resultado.getImportados() + " eventos já importados)");
+                }
+
+                bloco.add(registro);
+                indicesBloco.add(indice++);
+                if (bloco.size() == tamanhoBloco) {
+                    gravar(bloco, indicesBloco, resultado, administradoresAfetados);
+                }
+            }
+            gravar(bloco, indicesBloco, resultado, administradoresAfetados);
+        } finally {
+            administradoresAfetados.forEach(cacheListagem::invalidar);
+        }
+
+        resultado.setTotal(indice);
+        return resultado;
+    }
+
+    // O corpo é escrito depois que o controller retorna, em outra thread; a transação (necessária para
+    // o cursor do banco) fica aberta só enquanto a resposta está sendo gerada. Pelo mesmo motivo o tempo
+    // não vem do @Timed (que só mediria a criação do lambda): o timer "servicos" é registrado aqui, com as
+    // mesmas tags do aspecto.
+    public StreamingResponseBody exportar(FormatoArquivo formato) {
+        return saida -> {
+            Timer.Sample amostra = Timer.start(meterRegistry);
+            String excecao = "none";
+            try {
+                escrever(formato, saida);
+            } catch (RuntimeException e) {
+                excecao = e.getClass().getSimpleName();
+                throw e;
+            } finally {
+                amostra.stop(Timer.builder("servicos")
+                        .tags("class", EventoArquivoService.class.getName(), "method", "exportar", "exception", excecao)
+                        .register(meterRegistry));
+            }
+        };
+    }
+
+    private void escrever(FormatoArquivo formato, OutputStream saida) {
+        transacaoLeitura.executeWithoutResult(status -> {
+            long linhas = 0;
+            try (Stream<Evento> eventos = eventoRepository.percorrerTodos();
+                 SequenceWriter escritor = escritor(formato).writeValues(saida)) {
+                for (Evento evento : (Iterable<Evento>) eventos::iterator) {
+                    escritor.write(new EventoExportacaoDTO(evento.getId(), evento.getNome(), evento.getData(),
+                            evento.getLocalizacao(), evento.getAdministrador().getId(), evento.getImagemUrl(),
+                            evento.getImagemChave()));
+                    if (++linhas % LINHAS_POR_DESCARGA == 0) {
+                        escritor.flush();
+                        entityManager.clear();
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            // O separador do NDJSON só vai entre os registros; a última linha também termina com \n
+            try {
+                if (formato == FormatoArquivo.NDJSON && linhas > 0) {
+                    saida.write('\n');
+                }
+                saida.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void gravar(List<EventoRequestDTO> bloco, List<Integer> indicesBloco,
+                        ResultadoImportacaoDTO resultado, Set<Long> administradoresAfetados) {
+        if (bloco.isEmpty()) {
+            return;
+        }
+        List<ItemLoteDTO> itens = eventoLoteService.criarBloco(bloco, 0, administradoresAfetados);
+        for (int i = 0; i < itens.size(); i++) {
+            ItemLoteDTO item = itens.get(i);
+            item.setIndice(indicesBloco.get(i));
+            registrar(resultado, item);
+        }
+        bloco.clear();
+        indicesBloco.clear();
+    }
+
+    private void registrar(ResultadoImportacaoDTO resultado, ItemLoteDTO item) {
+        if (item.isSucesso()) {
+            resultado.setImportados(resultado.getImportados() + 1);
+            return;
+        }
+        resultado.setFalhas(resultado.getFalhas() + 1);
+        if (resultado.getErros().size() < MAXIMO_ERROS_DETALHADOS) {
+            resultado.getErros().add(item);
+        }
+    }
+
+    private ObjectReader leitor(FormatoArquivo formato) {
+        return switch (formato) {
+            case NDJSON -> objectMapper.readerFor(EventoRequestDTO.class);
+            case CSV -> csvMapper.readerFor(EventoRequestDTO.class).with(CsvSchema.emptySchema().withHeader());
+        };
+    }
+
+    private ObjectWriter escritor(FormatoArquivo formato) {
+        ObjectWriter escritor = switch (formato) {
+            case NDJSON -> objectMapper.writerFor(EventoExportacaoDTO.class).withRootValueSeparator("\n");
+            case CSV -> csvMapper.writerFor(EventoExportacaoDTO.class)
+                    .with(csvMapper.schemaFor(EventoExportacaoDTO.class).withHeader());
+        };
+        // Quem envia os dados é o flush a cada LINHAS_POR_DESCARGA, e a resposta é fechada pelo Spring
+        return escritor.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+}
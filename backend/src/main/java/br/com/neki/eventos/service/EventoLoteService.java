@@ -0,0 +1,333 @@
+package br.com.neki.eventos.service;
+
+import br.com.neki.eventos.diagnostico.ConsultasRequisicao;
+import br.com.neki.eventos.dto.EventoLoteUpdateDTO;
+import br.com.neki.eventos.dto.EventoRequestDTO;
+import br.com.neki.eventos.dto.ItemLoteDTO;
+import br.com.neki.eventos.dto.ResultadoLoteDTO;
+import br.com.neki.eventos.exception.LoteInvalidoException;
+import br.com.neki.eventos.model.Evento;
+import br.com.neki.eventos.repository.AdministradorRepository;
+import br.com.neki.eventos.repository.EventoRepository;
+import br.com.neki.eventos.repository.ImagemResumo;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+// Criação, atualização e exclusão de eventos em lote. Os itens são validados um a um (um item inválido
+// não derruba os demais) e os válidos são gravados em transações de tamanho fixo, com o contexto de
+// persistência limpo a cada uma, para que o Hibernate agrupe os comandos em lotes JDBC.
+@Timed("servicos")
+@Service
+public class EventoLoteService {
+
+    private static final Logger log = LoggerFactory.getLogger(EventoLoteService.class);
+    private static final String ERRO_GRAVACAO = "O banco de dados recusou o item";
+
+    private final EventoRepository eventoRepository;
+    private final AdministradorRepository administradorRepository;
+    private final CacheListagemEventos cacheListagem;
+    private final ImagemService imagemService;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final ValidadorEvento validadorEvento;
+
+    @Value("${app.eventos.lote.tamanho-maximo:5000}")
+    private int tamanhoMaximo;
+
+    @Value("${app.eventos.lote.itens-por-transacao:500}")
+    private int itensPorTransacao;
+
+    public EventoLoteService(EventoRepository eventoRepository,
+                             AdministradorRepository administradorRepository,
+                             CacheListagemEventos cacheListagem,
+                             ImagemService imagemService,
+                             TransactionTemplate transactionTemplate,
+                             EntityManager entityManager,
+                             Validator validator,
+                             ValidadorEvento validadorEvento) {
+        this.eventoRepository = eventoRepository;
+        this.administradorRepository = administradorRepository;
+        this.cacheListagem = cacheListagem;
+        this.imagemService = imagemService;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.validadorEvento = validadorEvento;
+    }
+
+    // Cria eventos com imagem por URL ou pela chave de uma imagem já em uso (como POST /eventos/url)
+    public ResultadoLoteDTO criar(List<EventoRequestDTO> itens) {
+        validarTamanho(itens);
+        List<ItemLoteDTO> resultados = new ArrayList<>(itens.size());
+        Set<Long> administradoresAfetados = new HashSet<>();
+
+        for (int inicio = 0; inicio < itens.size(); inicio += itensPorTransacao) {
+            List<EventoRequestDTO> bloco = itens.subList(inicio, Math.min(inicio + itensPorTransacao, itens.size()));
+            resultados.addAll(criarBloco(bloco, inicio, administradoresAfetados));
+        }
+
+        administradoresAfetados.forEach(cacheListagem::invalidar);
+        return new ResultadoLoteDTO(resultados);
+    }
+
+    // Valida e grava um bloco em uma transação. "primeiroIndice" é a posição do bloco na entrada,
+    // usada nos resultados; o cache das listagens fica por conta de quem chama (ver administradoresAfetados).
+    List<ItemLoteDTO> criarBloco(List<EventoRequestDTO> bloco, int primeiroIndice, Set<Long> administradoresAfetados) {
+        ItemLoteDTO[] resultados = new ItemLoteDTO[bloco.size()];
+
+        Set<Long> administradoresExistentes = new HashSet<>(administradorRepository.buscarIdsExistentes(
+                bloco.stream().filter(Objects::nonNull).map(EventoRequestDTO::getAdministradorId)
+                        .filter(Objects::nonNull).collect(Collectors.toSet())));
+        Map<String, ImagemResumo> imagens = imagemService.buscarEmUso(
+                bloco.stream().filter(Objects::nonNull).map(EventoRequestDTO::getImagemChave).toList());
+
+        List<Integer> validos = new ArrayList<>();
+        for (int i = 0; i < bloco.size(); i++) {
+            String erro = validarCriacao(bloco.get(i), administradoresExistentes, imagens);
+            if (erro != null) {
+                resultados[i] = ItemLoteDTO.falha(primeiroIndice + i, null, erro);
+            } else {
+                validos.add(i);
+            }
+        }
+
+        Gravacao gravacao = gravar(validos, (indices, tentativa) -> {
+            List<Evento> eventos = new ArrayList<>(indices.size());
+            for (int i : indices) {
+                EventoRequestDTO dto = bloco.get(i);
+                Evento evento = new Evento();
+                evento.setNome(dto.getNome());
+                evento.setData(dto.getData());
+                evento.setLocalizacao(dto.getLocalizacao());
+                evento.setImagemUrl(dto.getImagemUrl());
+                if (dto.getImagemChave() != null) {
+                    imagemService.reaproveitar(evento, imagens.get(dto.getImagemChave()));
+                }
+                evento.setAdministrador(administradorRepository.getReferenceById(dto.getAdministradorId()));
+                entityManager.persist(evento);
+                eventos.add(evento);
+            }
+            entityManager.flush();
+            entityManager.clear();
+
+            for (int j = 0; j < indices.size(); j++) {
+                int i = indices.get(j);
+                tentativa.resultados.put(i, ItemLoteDTO.sucesso(primeiroIndice + i, eventos.get(j).getId()));
+                tentativa.administradores.add(bloco.get(i).getAdministradorId());
+            }
+        }, i -> ItemLoteDTO.falha(primeiroIndice + i, null, ERRO_GRAVACAO));
+
+        gravacao.resultados.forEach((i, item) -> resultados[i] = item);
+        administradoresAfetados.addAll(gravacao.administradores);
+        return Arrays.asList(resultados);
+    }
+
+    // Atualiza data e/ou localização (como PUT /eventos/{id}); campos nulos ficam como estão
+    public ResultadoLoteDTO atualizar(List<EventoLoteUpdateDTO> itens) {
+        validarTamanho(itens);
+        ItemLoteDTO[] resultados = new ItemLoteDTO[itens.size()];
+        Set<Long> administradoresAfetados = new HashSet<>();
+
+        List<Integer> validos = new ArrayList<>();
+        for (int i = 0; i < itens.size(); i++) {
+            EventoLoteUpdateDTO dto = itens.get(i);
+            Set<ConstraintViolation<EventoLoteUpdateDTO>> violacoes = dto == null ? Set.of() : validator.validate(dto);
+            if (dto == null || dto.getId() == null) {
+                resultados[i] = ItemLoteDTO.falha(i, null, "Id do evento é obrigatório");
+            } else if (dto.getLocalizacao() != null && dto.getLocalizacao().isBlank()) {
+                resultados[i] = ItemLoteDTO.falha(i, dto.getId(), "Localização não pode ser vazia");
+            } else if (!violacoes.isEmpty()) {
+                resultados[i] = ItemLoteDTO.falha(i, dto.getId(), ValidadorEvento.mensagens(violacoes));
+            } else {
+                validos.add(i);
+            }
+        }
+
+        for (List<Integer> bloco : dividir(validos)) {
+            Gravacao gravacao = gravar(bloco, (indices, tentativa) -> {
+                Map<Long, Evento> eventos = buscarPorIds(indices.stream().map(i -> itens.get(i).getId()).toList());
+                for (int indice : indices) {
+                    EventoLoteUpdateDTO dto = itens.get(indice);
+                    Evento evento = eventos.get(dto.getId());
+                    if (evento == null) {
+                        tentativa.resultados.put(indice, ItemLoteDTO.falha(indice, dto.getId(), "Evento não encontrado"));
+                        continue;
+                    }
+                    if (dto.getLocalizacao() != null) {
+                        evento.setLocalizacao(dto.getLocalizacao());
+                    }
+                    if (dto.getData() != null) {
+                        evento.setData(dto.getData());
+                    }
+                    tentativa.resultados.put(indice, ItemLoteDTO.sucesso(indice, dto.getId()));
+                    tentativa.administradores.add(evento.getAdministrador().getId());
+                }
+                entityManager.flush();
+                entityManager.clear();
+            }, i -> ItemLoteDTO.falha(i, itens.get(i).getId(), ERRO_GRAVACAO));
+
+            gravacao.resultados.forEach((i, item) -> resultados[i] = item);
+            administradoresAfetados.addAll(gravacao.administradores);
+        }
+
+        administradoresAfetados.forEach(cacheListagem::invalidar);
+        return new ResultadoLoteDTO(Arrays.asList(resultados));
+    }
+
+    // Exclui pelos ids; as imagens dos excluídos são registradas na mesma transação e, se ficarem sem evento,
+    // saem na limpeza periódica do ImagemService
+    public ResultadoLoteDTO excluir(List<Long> ids) {
+        validarTamanho(ids);
+        ItemLoteDTO[] resultados = new ItemLoteDTO[ids.size()];
+        Set<Long> administradoresAfetados = new HashSet<>();
+
+        List<Integer> validos = new ArrayList<>();
+        Set<Long> vistos = new HashSet<>();
+        for (int i = 0; i < ids.size(); i++) {
+            if (ids.get(i) == null) {
+                resultados[i] = ItemLoteDTO.falha(i, null, "Id do evento é obrigatório");
+            } else if (!vistos.add(ids.get(i))) {
+                resultados[i] = ItemLoteDTO.falha(i, ids.get(i), "Id repetido no lote");
+            } else {
+                validos.add(i);
+            }
+        }
+
+        for (List<Integer> bloco : dividir(validos)) {
+            Gravacao gravacao = gravar(bloco, (indices, tentativa) -> {
+                Map<Long, Evento> eventos = buscarPorIds(indices.stream().map(ids::get).toList());
+                Set<String> imagens = new HashSet<>();
+                for (int indice : indices) {
+                    Long id = ids.get(indice);
+                    Evento evento = eventos.get(id);
+                    if (evento == null) {
+                        tentativa.resultados.put(indice, ItemLoteDTO.falha(indice, id, "Evento não encontrado"));
+                        continue;
+                    }
+                    entityManager.remove(evento);
+                    imagens.add(evento.getImagemChave());
+                    tentativa.administradores.add(evento.getAdministrador().getId());
+                    tentativa.resultados.put(indice, ItemLoteDTO.sucesso(indice, id));
+                }
+                imagemService.registrarPendentes(imagens);
+                entityManager.flush();
+                entityManager.clear();
+            }, i -> ItemLoteDTO.falha(i, ids.get(i), ERRO_GRAVACAO));
+
+            gravacao.resultados.forEach((i, item) -> resultados[i] = item);
+            administradoresAfetados.addAll(gravacao.administradores);
+        }
+
+        administradoresAfetados.forEach(cacheListagem::invalidar);
+        return new ResultadoLoteDTO(Arrays.asList(resultados));
+    }
+
+    // Grava os índices numa transação só. Se o banco recusar algum item (valor fora do limite da coluna,
+    // restrição violada), o bloco inteiro é desfeito e os itens são regravados um a um, cada um na sua
+    // transação, para que só os recusados falhem. Resultados e efeitos só valem depois do commit.
+    private Gravacao gravar(List<Integer> indices, BiConsumer<List<Integer>, Gravacao> operacao,
+                            IntFunction<ItemLoteDTO> falha) {
+        Gravacao gravacao = new Gravacao();
+        if (indices.isEmpty()) {
+            return gravacao;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> operacao.accept(indices, gravacao));
+            return gravacao;
+        } catch (PersistenceException | DataIntegrityViolationException e) {
+            if (indices.size() == 1) {
+                log.warn("Item {} do lote recusado pelo banco: {}", indices.get(0), e.getMessage());
+                gravacao.limpar();
+                gravacao.resultados.put(indices.get(0), falha.apply(indices.get(0)));
+                return gravacao;
+            }
+            log.warn("Bloco de {} itens recusado pelo banco, gravando um a um: {}", indices.size(), e.getMessage());
+        }
+
+        // As mesmas consultas se repetem por item de propósito: não é um N+1 para o diagnóstico de consultas
+        return ConsultasRequisicao.repeticaoIntencional(() -> {
+            Gravacao consolidada = new Gravacao();
+            for (int indice : indices) {
+                consolidada.absorver(gravar(List.of(indice), operacao, falha));
+            }
+            return consolidada;
+        });
+    }
+
+    // Resultados e administradores afetados (listagens a invalidar) de uma gravação
+    private static final class Gravacao {
+        final Map<Integer, ItemLoteDTO> resultados = new HashMap<>();
+        final Set<Long> administradores = new HashSet<>();
+
+        void limpar() {
+            resultados.clear();
+            administradores.clear();
+        }
+
+        void absorver(Gravacao outra) {
+            resultados.putAll(outra.resultados);
+            administradores.addAll(outra.administradores);
+        }
+    }
+
+    private String validarCriacao(EventoRequestDTO dto, Set<Long> administradoresExistentes,
+                                  Map<String, ImagemResumo> imagens) {
+        String erro = validadorEvento.erroCriacao(dto);
+        if (erro == null && !administradoresExistentes.contains(dto.getAdministradorId())) {
+            return "Administrador não encontrado";
+        }
+        if (erro == null && dto.getImagemChave() != null && !imagens.containsKey(dto.getImagemChave())) {
+            return "Imagem não encontrada";
+        }
+        return erro;
+    }
+
+    int getItensPorTransacao() {
+        return itensPorTransacao;
+    }
+
+    private Map<Long, Evento> buscarPorIds(List<Long> ids) {
+        return eventoRepository.findAllById(new HashSet<>(ids)).stream()
+                .collect(Collectors.toMap(Evento::getId, Function.identity()));
+    }
+
+    private List<List<Integer>> dividir(List<Integer> indices) {
+        List<List<Integer>> blocos = new ArrayList<>();
+        for (int inicio = 0; inicio < indices.size(); inicio += itensPorTransacao) {
+            blocos.add(indices.subList(inicio, Math.min(inicio + itensPorTransacao, indices.size())));
+        }
+        return blocos;
+    }
+
+    private void validarTamanho(List<?> itens) {
+        if (itens == null || itens.isEmpty()) {
+            throw new LoteInvalidoException("O lote está vazio");
+        }
+        if (itens.size() > tamanhoMaximo) {
+            throw new LoteInvalidoException("O lote pode ter no máximo " + tamanhoMaximo + " itens");
+        }
+    }
+}
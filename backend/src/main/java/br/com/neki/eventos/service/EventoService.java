@@ -3,30 +3,65 @@ package br.com.neki.eventos.service;
 import br.com.neki.eventos.dto.EventoDTO;
 import br.com.neki.eventos.dto.EventoRequestDTO;
 import br.com.neki.eventos.dto.EventoUpdateRequestDTO;
+import br.com.neki.eventos.dto.PaginaDTO;
+import br.com.neki.eventos.exception.DadosInvalidosException;
+import br.com.neki.eventos.exception.FiltroInvalidoException;
 import br.com.neki.eventos.model.Administrador;
 import br.com.neki.eventos.model.Evento;
 import br.com.neki.eventos.repository.AdministradorRepository;
 import br.com.neki.eventos.repository.EventoRepository;
+import br.com.neki.eventos.repository.EventoResumo;
+import br.com.neki.eventos.repository.FiltroEventos;
+import br.com.neki.eventos.repository.ImagemResumo;
+import br.com.neki.eventos.storage.VarianteImagem;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
+@Timed("servicos")
 @Service
 public class EventoService {
 
+    private static final int TAMANHO_MAXIMO_BUSCA = 100;
+
     private final EventoRepository eventoRepository;
     private final AdministradorRepository administradorRepository;
+    private final ImagemService imagemService;
+    private final CacheListagemEventos cacheListagem;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ValidadorEvento validadorEvento;
+
+    @Value("${app.eventos.pagina.tamanho-padrao:20}")
+    private int tamanhoPaginaPadrao;
 
-    public EventoService(EventoRepository eventoRepository, AdministradorRepository administradorRepository) {
+    @Value("${app.eventos.pagina.tamanho-maximo:100}")
+    private int tamanhoPaginaMaximo;
+
+    public EventoService(EventoRepository eventoRepository,
+                         AdministradorRepository administradorRepository,
+                         ImagemService imagemService,
+                         CacheListagemEventos cacheListagem,
+                         EntityManagerFactory entityManagerFactory,
+                         ValidadorEvento validadorEvento) {
         this.eventoRepository = eventoRepository;
         this.administradorRepository = administradorRepository;
+        this.imagemService = imagemService;
+        this.cacheListagem = cacheListagem;
+        this.entityManagerFactory = entityManagerFactory;
+        this.validadorEvento = validadorEvento;
     }
 
-    // Cria evento com upload de imagem (salva binário no banco)
+    // Cria evento com upload de imagem (valida o formato, grava o arquivo no ImageStore e guarda só os metadados)
     public EventoDTO criarComUpload(EventoRequestDTO dto, MultipartFile imagem) throws IOException {
+        validadorEvento.validarCriacao(dto);
         Administrador admin = buscarAdministrador(dto.getAdministradorId());
 
         Evento evento = new Evento();
@@ -36,15 +71,23 @@ public class EventoService {
         evento.setAdministrador(admin);
 
         if (imagem != null && !imagem.isEmpty()) {
-            evento.setImagem(imagem.getBytes());
+            try (InputStream conteudo = imagem.getInputStream()) {
+                imagemService.anexar(evento, conteudo);
+            }
             evento.setImagemUrl(null);
+        } else if (dto.getImagemChave() != null) {
+            reaproveitarImagem(evento, dto.getImagemChave());
         }
 
-        return mapToDTO(eventoRepository.save(evento));
+        Evento salvo = eventoRepository.save(evento);
+        cacheListagem.invalidar(admin.getId());
+        imagemService.gerarVariantes(salvo);
+        return mapToDTO(salvo);
     }
 
     // Cria evento com imagem via URL
     public EventoDTO criarComUrl(EventoRequestDTO dto) {
+        validadorEvento.validarCriacao(dto);
         Administrador admin = buscarAdministrador(dto.getAdministradorId());
 
         Evento evento = new Evento();
@@ -53,25 +96,84 @@ public class EventoService {
         evento.setLocalizacao(dto.getLocalizacao());
         evento.setAdministrador(admin);
         evento.setImagemUrl(dto.getImagemUrl());
-        evento.setImagem(null);
+        evento.setImagemChave(null);
+        if (dto.getImagemChave() != null) {
+            reaproveitarImagem(evento, dto.getImagemChave());
+        }
 
-        return mapToDTO(eventoRepository.save(evento));
+        Evento salvo = eventoRepository.save(evento);
+        cacheListagem.invalidar(admin.getId());
+        return mapToDTO(salvo);
+    }
+
+    // Mesma lista de listarPorAdministrador, já serializada e servida do cache
+    public byte[] listarPorAdministradorJson(Long administradorId) {
+        return cacheListagem.listaDoAdministrador(administradorId, () -> listarPorAdministrador(administradorId));
     }
 
-    
     public List<EventoDTO> listarPorAdministrador(Long administradorId) {
-        return eventoRepository.findByAdministradorId(administradorId)
+        return eventoRepository.listarResumosPorAdministrador(administradorId)
                 .stream()
                 .map(this::mapToDTO)
                 .toList();
     }
 
-    
-    public List<EventoDTO> listarTodos() {
-        return eventoRepository.findAll()
-                .stream()
-                .map(this::mapToDTO)
-                .toList();
+    // Mesma página de listarTodos, já serializada e servida do cache
+    public byte[] listarTodosJson(FiltroEventos filtro, String cursor, Integer tamanho) {
+        validarFiltro(filtro);
+        int limite = resolverTamanhoPagina(tamanho);
+        String posicao = cursor == null || cursor.isBlank() ? null : cursor;
+        if (posicao != null) {
+            CursorEvento.decodificar(posicao);
+        }
+        return cacheListagem.pagina(filtro, posicao, limite, () -> listarTodos(filtro, posicao, limite));
+    }
+
+    // Lista eventos por data em páginas de tamanho limitado (paginação por keyset), com filtros opcionais
+    public PaginaDTO<EventoDTO> listarTodos(FiltroEventos filtro, String cursor, Integer tamanho) {
+        validarFiltro(filtro);
+        int limite = resolverTamanhoPagina(tamanho);
+
+        List<EventoResumo> eventos;
+        if (cursor == null || cursor.isBlank()) {
+            eventos = eventoRepository.buscarPagina(filtro, null, null, limite + 1);
+        } else {
+            CursorEvento posicao = CursorEvento.decodificar(cursor);
+            eventos = eventoRepository.buscarPagina(filtro, posicao.getData(), posicao.getId(), limite + 1);
+        }
+
+        String proximoCursor = null;
+        if (eventos.size() > limite) {
+            eventos = eventos.subList(0, limite);
+            EventoResumo ultimo = eventos.get(limite - 1);
+            proximoCursor = new CursorEvento(ultimo.getData(), ultimo.getId()).codificar();
+        }
+
+        return new PaginaDTO<>(eventos.stream().map(this::mapToDTO).toList(), proximoCursor);
+    }
+
+    // Busca textual ranqueada em nome e localização
+    @Transactional(readOnly = true)
+    public PaginaDTO<EventoDTO> buscar(String texto, String cursor, Integer tamanho) {
+        if (texto == null || texto.isBlank()) {
+            throw new FiltroInvalidoException("Informe o texto da busca");
+        }
+        if (texto.length() > TAMANHO_MAXIMO_BUSCA) {
+            throw new FiltroInvalidoException("O texto de busca deve ter no máximo " + TAMANHO_MAXIMO_BUSCA + " caracteres");
+        }
+
+        int limite = resolverTamanhoPagina(tamanho);
+        int deslocamento = cursor == null || cursor.isBlank() ? 0 : CursorBusca.decodificar(cursor);
+
+        List<EventoResumo> eventos = eventoRepository.buscarTexto(texto.trim(), deslocamento, limite + 1);
+
+        String proximoCursor = null;
+        if (eventos.size() > limite) {
+            eventos = eventos.subList(0, limite);
+            proximoCursor = CursorBusca.codificar(deslocamento + limite);
+        }
+
+        return new PaginaDTO<>(eventos.stream().map(this::mapToDTO).toList(), proximoCursor);
     }
 
   
@@ -86,45 +188,100 @@ public class EventoService {
             evento.setData(dto.getData());
         }
 
-        return mapToDTO(eventoRepository.save(evento));
+        Evento salvo = eventoRepository.save(evento);
+        cacheListagem.invalidar(salvo.getAdministrador().getId());
+        return mapToDTO(salvo);
     }
 
-  
+    // A imagem, se ficar sem evento, sai na limpeza periódica (ImagemService.removerNaoUtilizadas). Ela é
+    // registrada antes da exclusão: se a exclusão falhar, a limpeza a encontra em uso e só descarta o registro
     public void excluir(Long eventoId) {
-        if (!eventoRepository.existsById(eventoId)) {
-            throw new EntityNotFoundException("Evento não encontrado");
+        Evento evento = eventoRepository.findById(eventoId)
+                .orElseThrow(() -> new EntityNotFoundException("Evento não encontrado"));
+        if (evento.getImagemChave() != null) {
+            imagemService.registrarPendentes(List.of(evento.getImagemChave()));
         }
-        eventoRepository.deleteById(eventoId);
+        eventoRepository.delete(evento);
+        cacheListagem.invalidar(evento.getAdministrador().getId());
     }
 
-    // Busca imagem em binário
-    public byte[] buscarImagem(Long id) {
-        Evento evento = eventoRepository.findById(id)
+    // Metadados da imagem enviada, sem consultar o arquivo; null se o evento não tiver imagem enviada
+    public ImagemResumo buscarImagem(Long id) {
+        ImagemResumo imagem = eventoRepository.buscarImagemResumo(id)
                 .orElseThrow(() -> new EntityNotFoundException("Evento não encontrado"));
-        return evento.getImagem();
+        return imagem.getChave() != null ? imagem : null;
     }
 
-    // Mapeia entidade para DTO
-    private EventoDTO mapToDTO(Evento e) {
-        String resolvedUrl = null;
+    public String etagImagem(ImagemResumo imagem, VarianteImagem variante) {
+        return imagemService.etagDefinitivo(imagem, variante);
+    }
 
-        if (e.getImagemUrl() != null) {
-            resolvedUrl = e.getImagemUrl();
-        } else if (e.getImagem() != null) {
-            resolvedUrl = "/eventos/" + e.getId() + "/imagem";
-        }
+    // Resolve o arquivo a servir a partir dos metadados, sem ler a imagem; null se o arquivo não existir
+    public ArquivoImagem resolverImagem(ImagemResumo imagem, VarianteImagem variante) {
+        return imagemService.resolver(imagem, variante);
+    }
 
+    // Mapeia entidade para DTO (os mapToDTO são visíveis no pacote para os benchmarks de src/jmh)
+    EventoDTO mapToDTO(Evento e) {
         return new EventoDTO(
                 e.getId(),
                 e.getNome(),
                 e.getData(),
                 e.getLocalizacao(),
-                resolvedUrl
+                resolverImagemUrl(e.getId(), e.getImagemUrl(), e.getImagemChave() != null)
         );
     }
 
+    // Mapeia projeção das listagens para DTO
+    EventoDTO mapToDTO(EventoResumo r) {
+        return new EventoDTO(
+                r.getId(),
+                r.getNome(),
+                r.getData(),
+                r.getLocalizacao(),
+                resolverImagemUrl(r.getId(), r.getImagemUrl(), r.isPossuiImagem())
+        );
+    }
+
+    private String resolverImagemUrl(Long id, String imagemUrl, boolean possuiImagem) {
+        if (imagemUrl != null) {
+            return imagemUrl;
+        }
+        // As listagens exibem cards, então apontam para a variante reduzida
+        return possuiImagem ? "/eventos/" + id + "/imagem?size=" + VarianteImagem.CARD.getNome() : null;
+    }
+
+    private void validarFiltro(FiltroEventos filtro) {
+        if (filtro.getDe() != null && filtro.getAte() != null && filtro.getDe().isAfter(filtro.getAte())) {
+            throw new FiltroInvalidoException("A data inicial deve ser anterior à data final");
+        }
+        if (filtro.getTexto() != null && filtro.getTexto().length() > TAMANHO_MAXIMO_BUSCA) {
+            throw new FiltroInvalidoException("O texto de busca deve ter no máximo " + TAMANHO_MAXIMO_BUSCA + " caracteres");
+        }
+    }
+
+    private int resolverTamanhoPagina(Integer tamanho) {
+        if (tamanho == null || tamanho < 1) {
+            return tamanhoPaginaPadrao;
+        }
+        return Math.min(tamanho, tamanhoPaginaMaximo);
+    }
+
+    private void reaproveitarImagem(Evento evento, String chave) {
+        ImagemResumo imagem = imagemService.buscarEmUso(List.of(chave)).get(chave);
+        if (imagem == null) {
+            throw new DadosInvalidosException("Imagem não encontrada");
+        }
+        imagemService.reaproveitar(evento, imagem);
+    }
+
+    // O evento só grava a chave estrangeira: confere que o administrador existe (no cache de segundo nível
+    // ou com uma consulta só pela chave primária) e devolve uma referência, sem ler a linha nem o hash da senha
     private Administrador buscarAdministrador(Long id) {
-        return administradorRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Administrador não encontrado"));
+        if (!entityManagerFactory.getCache().contains(Administrador.class, id)
+                && !administradorRepository.existsById(id)) {
+            throw new EntityNotFoundException("Administrador não encontrado");
+        }
+        return administradorRepository.getReferenceById(id);
     }
 }
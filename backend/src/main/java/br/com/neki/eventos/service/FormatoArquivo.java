@@ -0,0 +1,36 @@
+package br.com.neki.eventos.service;
+
+import br.com.neki.eventos.exception.FormatoInvalidoException;
+
+import java.util.Locale;
+
+// Formatos aceitos na importação e na exportação de eventos
+public enum FormatoArquivo {
+
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extensao;
+
+    FormatoArquivo(String contentType, String extensao) {
+        this.contentType = contentType;
+        this.extensao = extensao;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtensao() {
+        return extensao;
+    }
+
+    public static FormatoArquivo de(String nome) {
+        try {
+            return valueOf(nome.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new FormatoInvalidoException("Formato não suportado: " + nome + " (use ndjson ou csv)");
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package br.com.neki.eventos.service;
+
+import br.com.neki.eventos.exception.ImagemInvalidaException;
+import br.com.neki.eventos.model.Evento;
+import br.com.neki.eventos.model.ImagemPendente;
+import br.com.neki.eventos.repository.EventoRepository;
+import br.com.neki.eventos.repository.ImagemPendenteRepository;
+import br.com.neki.eventos.repository.ImagemResumo;
+import br.com.neki.eventos.storage.FormatoImagem;
+import br.com.neki.eventos.storage.ImageStore;
+import br.com.neki.eventos.storage.ImagemArmazenada;
+import br.com.neki.eventos.storage.InspetorImagem;
+import br.com.neki.eventos.storage.VarianteImagem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.awt.Dimension;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class ImagemService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImagemService.class);
+    private static final int CHAVES_POR_CONSULTA = 500;
+
+    private final ImageStore imageStore;
+    private final EventoRepository eventoRepository;
+    private final ImagemPendenteRepository imagemPendenteRepository;
+    private final VarianteImagemService varianteImagemService;
+
+    @Value("${app.imagens.dimensao-maxima:8000}")
+    private int dimensaoMaxima;
+
+    @Value("${app.imagens.carencia:PT1H}")
+    private Duration carencia;
+
+    public ImagemService(ImageStore imageStore,
+                         EventoRepository eventoRepository,
+                         ImagemPendenteRepository imagemPendenteRepository,
+                         VarianteImagemService varianteImagemService) {
+        this.imageStore = imageStore;
+        this.eventoRepository = eventoRepository;
+        this.imagemPendenteRepository = imagemPendenteRepository;
+        this.varianteImagemService = varianteImagemService;
+    }
+
+    // Valida o formato pelos bytes iniciais (antes de gravar qualquer coisa), grava o arquivo
+    // e guarda no evento a chave junto com tipo, tamanho e dimensões
+    public void anexar(Evento evento, InputStream conteudo) throws IOException {
+        BufferedInputStream entrada = new BufferedInputStream(conteudo);
+        FormatoImagem formato = InspetorImagem.detectarFormato(entrada);
+        // Até o evento ser salvo a imagem fica sem referência: registrada, ela é conferida na limpeza
+        ImagemArmazenada armazenada = imageStore.salvar(entrada, chave -> registrarPendentes(List.of(chave)));
+
+        // Se a imagem for recusada aqui, o arquivo fica sem evento e sai na limpeza
+        Dimension dimensoes = lerDimensoes(armazenada.getChave(), formato);
+
+        evento.setImagemChave(armazenada.getChave());
+        evento.setImagemContentType(formato.getContentType());
+        evento.setImagemTamanho(armazenada.getTamanho());
+        evento.setImagemLargura(dimensoes.width);
+        evento.setImagemAltura(dimensoes.height);
+    }
+
+    // Imagens já usadas por algum evento, pela chave, para criar eventos com a mesma imagem sem reenviá-la
+    // (importação de um arquivo exportado). Uma imagem em uso não é apagada antes da carência, mesmo que o
+    // evento que a usava seja excluído agora, então o evento novo é gravado antes de a limpeza poder removê-la.
+    public Map<String, ImagemResumo> buscarEmUso(Collection<String> chaves) {
+        Set<String> distintas = new HashSet<>(chaves);
+        distintas.remove(null);
+        if (distintas.isEmpty()) {
+            return Map.of();
+        }
+        return eventoRepository.buscarImagensEmUso(distintas).stream()
+                .collect(Collectors.toMap(ImagemResumo::getChave, Function.identity()));
+    }
+
+    public void reaproveitar(Evento evento, ImagemResumo imagem) {
+        evento.setImagemChave(imagem.getChave());
+        evento.setImagemContentType(imagem.getContentType());
+        evento.setImagemTamanho(imagem.getTamanho());
+        evento.setImagemLargura(imagem.getLargura());
+        evento.setImagemAltura(imagem.getAltura());
+        evento.setImagemUrl(null);
+    }
+
+    // Enfileira a geração das variantes reduzidas de um evento recém-salvo
+    public void gerarVariantes(Evento evento) {
+        if (evento.getImagemChave() == null || evento.getImagemLargura() == null || evento.getImagemAltura() == null) {
+            return;
+        }
+        FormatoImagem.doContentType(evento.getImagemContentType()).ifPresent(formato ->
+                varianteImagemService.solicitar(evento.getImagemChave(), formato,
+                        evento.getImagemLargura(), evento.getImagemAltura()));
+    }
+
+    // ETag da resposta definitiva (o original, ou a variante já gerada), calculado só com os metadados
+    public String etagDefinitivo(ImagemResumo imagem, VarianteImagem variante) {
+        FormatoImagem formato = FormatoImagem.doContentType(imagem.getContentType()).orElse(null);
+        return variante.necessaria(formato, imagem.getLargura(), imagem.getAltura())
+                ? imagem.getChave() + "_" + variante.getNome()
+                : imagem.getChave();
+    }
+
+    // Escolhe o arquivo a servir: a variante pedida, ou o original quando ela não é necessária
+    // (imagem já pequena ou formato não redimensionável) ou ainda não foi gerada
+    public ArquivoImagem resolver(ImagemResumo imagem, VarianteImagem variante) {
+        Resource original = carregar(imagem.getChave());
+        if (original == null) {
+            return null;
+        }
+        ArquivoImagem arquivoOriginal = new ArquivoImagem(original, imagem.getChave(), imagem.getContentType(), true);
+
+        FormatoImagem formato = FormatoImagem.doContentType(imagem.getContentType()).orElse(null);
+        if (!variante.necessaria(formato, imagem.getLargura(), imagem.getAltura())) {
+            return arquivoOriginal;
+        }
+
+        Resource reduzida = imageStore.carregarVariante(imagem.getChave(), variante).orElse(null);
+        if (reduzida != null) {
+            return new ArquivoImagem(reduzida, etagDefinitivo(imagem, variante),
+                    FormatoImagem.JPEG.getContentType(), true);
+        }
+
+        // Ainda pendente (ou descartada por fila cheia): pede de novo e entrega o original provisoriamente
+        varianteImagemService.solicitar(imagem.getChave(), formato, imagem.getLargura(), imagem.getAltura());
+        return new ArquivoImagem(original, imagem.getChave(), imagem.getContentType(), false);
+    }
+
+    public Resource carregar(String chave) {
+        return imageStore.carregar(chave).orElse(null);
+    }
+
+    // Registra (ou renova) as imagens para a limpeza conferir depois da carência. Chamado no upload e ao excluir
+    // eventos; dentro de uma transação, o registro só vale junto com a exclusão
+    public void registrarPendentes(Collection<String> chaves) {
+        Set<String> novas = new HashSet<>(chaves);
+        novas.remove(null);
+        if (novas.isEmpty()) {
+            return;
+        }
+        Instant agora = Instant.now();
+        List<String> registradas = imagemPendenteRepository.buscarRegistradas(novas);
+        if (!registradas.isEmpty()) {
+            imagemPendenteRepository.renovar(registradas, agora);
+            registradas.forEach(novas::remove);
+        }
+        try {
+            imagemPendenteRepository.saveAll(novas.stream().map(chave -> new ImagemPendente(chave, agora)).toList());
+        } catch (DataIntegrityViolationException e) {
+            // Registradas ao mesmo tempo por outra exclusão
+            imagemPendenteRepository.renovar(novas, agora);
+        }
+    }
+
+    // Como o conteúdo é deduplicado, excluir um evento não apaga a imagem na hora: outro evento pode usá-la,
+    // ou um upload do mesmo conteúdo pode estar em andamento (o evento dele ainda não foi gravado).
+    // A limpeza só revisita as chaves registradas há mais que a carência e apaga as que nenhum evento usa.
+    // O registro é removido sob a trava da chave no ImageStore, a mesma em que um upload o renova.
+    @Scheduled(cron = "${app.imagens.limpeza:0 30 * * * *}")
+    public void removerNaoUtilizadas() {
+        Instant limite = Instant.now().minus(carencia);
+        int removidas = 0;
+        Set<String> vistas = new HashSet<>();
+        List<String> bloco;
+        // Cada chave do bloco sai da consulta seguinte (o registro é removido ou foi renovado depois do limite);
+        // um bloco só com chaves já vistas encerra a limpeza em vez de repetir
+        while (vistas.addAll(bloco = imagemPendenteRepository.buscarAnterioresA(limite, Limit.of(CHAVES_POR_CONSULTA)))) {
+            Set<String> utilizadas = eventoRepository.buscarChavesUtilizadas(bloco);
+            if (!utilizadas.isEmpty()) {
+                imagemPendenteRepository.removerAnterioresA(utilizadas, limite);
+            }
+            for (String chave : bloco) {
+                if (!utilizadas.contains(chave) && remover(chave, limite)) {
+                    removidas++;
+                }
+            }
+        }
+        if (removidas > 0) {
+            log.info("{} imagens sem evento removidas", removidas);
+        }
+
+        // Temporários de uploads interrompidos: uma gravação em andamento renova a data a cada escrita
+        try {
+            int temporarios = imageStore.removerTemporariosAnterioresA(limite);
+            if (temporarios > 0) {
+                log.info("{} arquivos temporários de gravações interrompidas removidos", temporarios);
+            }
+        } catch (IOException e) {
+            log.warn("Limpeza dos arquivos temporários interrompida", e);
+        }
+    }
+
+    private boolean remover(String chave, Instant limite) {
+        try {
+            return imageStore.removerSe(chave,
+                    c -> imagemPendenteRepository.removerAnterioresA(List.of(c), limite) == 1);
+        } catch (IOException e) {
+            // O registro já saiu: volta para a próxima limpeza tentar de novo
+            log.warn("Não foi possível remover a imagem {}", chave, e);
+            registrarPendentes(List.of(chave));
+            return false;
+        }
+    }
+
+    private Dimension lerDimensoes(String chave, FormatoImagem formato) throws IOException {
+        Resource arquivo = carregar(chave);
+        if (arquivo == null) {
+            throw new IOException("Imagem recém-gravada não encontrada: " + chave);
+        }
+
+        Dimension dimensoes;
+        try (InputStream conteudo = arquivo.getInputStream()) {
+            dimensoes = InspetorImagem.lerDimensoes(conteudo, formato);
+        }
+        if (dimensoes.width > dimensaoMaxima || dimensoes.height > dimensaoMaxima) {
+            throw new ImagemInvalidaException(
+                    "A imagem excede o limite de " + dimensaoMaxima + " pixels de largura ou altura");
+        }
+        return dimensoes;
+    }
+}
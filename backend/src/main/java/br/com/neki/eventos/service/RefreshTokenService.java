@@ -0,0 +1,145 @@
+package br.com.neki.eventos.service;
+
+import br.com.neki.eventos.dto.AdministradorDTO;
+import br.com.neki.eventos.dto.LoginResponseDTO;
+import br.com.neki.eventos.exception.RefreshTokenInvalidoException;
+import br.com.neki.eventos.model.Administrador;
+import br.com.neki.eventos.model.RefreshToken;
+import br.com.neki.eventos.repository.RefreshTokenRepository;
+import br.com.neki.eventos.security.JwtService;
+import br.com.neki.eventos.security.RevogacaoTokens;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+// Refresh tokens opacos e rotativos: cada uso devolve um novo par e revoga o anterior.
+// Reapresentar um refresh token já usado indica vazamento, então a família inteira é revogada
+// junto com os access tokens ainda válidos do administrador.
+@Timed("servicos")
+@Service
+public class RefreshTokenService {
+
+    private static final int TAMANHO_TOKEN = 32;
+    private static final String MENSAGEM_INVALIDO = "Sessão expirada. Faça login novamente.";
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JwtService jwtService;
+    private final RevogacaoTokens revogacaoTokens;
+    private final Duration validade;
+    private final SecureRandom random = new SecureRandom();
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               JwtService jwtService,
+                               RevogacaoTokens revogacaoTokens,
+                               @Value("${app.jwt.refresh.expiration:P14D}") Duration validade) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.jwtService = jwtService;
+        this.revogacaoTokens = revogacaoTokens;
+        this.validade = validade;
+    }
+
+    // Login: abre uma nova família de refresh tokens
+    @Transactional
+    public LoginResponseDTO iniciarSessao(Administrador admin) {
+        String refreshToken = emitir(admin, UUID.randomUUID().toString());
+        return resposta(admin, refreshToken);
+    }
+
+    // noRollbackFor: a revogação da família por reuso precisa ser gravada mesmo com a exceção
+    @Transactional(noRollbackFor = RefreshTokenInvalidoException.class)
+    public LoginResponseDTO renovar(String refreshToken) {
+        RefreshToken atual = buscar(refreshToken);
+        Instant agora = Instant.now();
+
+        if (atual.getRevogadoEm() != null) {
+            throw revogarPorReuso(atual, agora);
+        }
+        if (atual.getExpiraEm().isBefore(agora)) {
+            throw new RefreshTokenInvalidoException(MENSAGEM_INVALIDO);
+        }
+        // A leitura acima pode ser anterior a uma renovação concorrente: quem revoga é o update condicional
+        if (refreshTokenRepository.revogarSeAtivo(atual.getId(), agora) == 0) {
+            throw revogarPorReuso(atual, agora);
+        }
+
+        Administrador admin = atual.getAdministrador();
+        String novo = emitir(admin, atual.getFamilia());
+        return resposta(admin, novo);
+    }
+
+    // Logout: encerra a família do token apresentado; tokens desconhecidos são ignorados
+    @Transactional
+    public void revogar(String refreshToken) {
+        if (refreshToken == null || refreshToken.isBlank()) {
+            return;
+        }
+        refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                .ifPresent(token -> refreshTokenRepository.revogarFamilia(token.getFamilia(), Instant.now()));
+    }
+
+    // Remove os registros expirados para manter a tabela pequena
+    @Scheduled(cron = "${app.jwt.refresh.limpeza:0 0 3 * * *}")
+    @Transactional
+    public void excluirExpirados() {
+        refreshTokenRepository.excluirExpirados(Instant.now());
+    }
+
+    private String emitir(Administrador admin, String familia) {
+        byte[] bytes = new byte[TAMANHO_TOKEN];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken registro = new RefreshToken();
+        registro.setTokenHash(hash(token));
+        registro.setFamilia(familia);
+        registro.setExpiraEm(Instant.now().plus(validade));
+        registro.setAdministrador(admin);
+        refreshTokenRepository.save(registro);
+        return token;
+    }
+
+    // Reuso de um token já trocado: encerra a família e os access tokens do administrador
+    private RefreshTokenInvalidoException revogarPorReuso(RefreshToken token, Instant agora) {
+        refreshTokenRepository.revogarFamilia(token.getFamilia(), agora);
+        revogacaoTokens.revogarTodos(token.getAdministrador().getId());
+        return new RefreshTokenInvalidoException(MENSAGEM_INVALIDO);
+    }
+
+    private RefreshToken buscar(String refreshToken) {
+        if (refreshToken == null || refreshToken.isBlank()) {
+            throw new RefreshTokenInvalidoException(MENSAGEM_INVALIDO);
+        }
+        return refreshTokenRepository.findWithAdministradorByTokenHash(hash(refreshToken))
+                .orElseThrow(() -> new RefreshTokenInvalidoException(MENSAGEM_INVALIDO));
+    }
+
+    private LoginResponseDTO resposta(Administrador admin, String refreshToken) {
+        return new LoginResponseDTO(
+                jwtService.generateToken(admin),
+                refreshToken,
+                new AdministradorDTO(admin.getId(), admin.getNome(), admin.getEmail())
+        );
+    }
+
+    // Só o hash vai para o banco: um dump da tabela não permite renovar sessões
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível na JVM", e);
+        }
+    }
+}
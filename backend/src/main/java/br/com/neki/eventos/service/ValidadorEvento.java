@@ -0,0 +1,54 @@
+package br.com.neki.eventos.service;
+
+import br.com.neki.eventos.dto.EventoRequestDTO;
+import br.com.neki.eventos.exception.DadosInvalidosException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Regras para criar um evento, as mesmas no upload, na criação por URL, nos lotes e na importação.
+// A existência do administrador e da imagem reaproveitada fica com quem chama (um a um ou numa consulta só para o bloco).
+@Component
+public class ValidadorEvento {
+
+    private final Validator validator;
+
+    public ValidadorEvento(Validator validator) {
+        this.validator = validator;
+    }
+
+    public void validarCriacao(EventoRequestDTO dto) {
+        String erro = erroCriacao(dto);
+        if (erro != null) {
+            throw new DadosInvalidosException(erro);
+        }
+    }
+
+    // Mensagem do problema encontrado, ou null se os dados servem para criar o evento
+    public String erroCriacao(EventoRequestDTO dto) {
+        if (dto == null) {
+            return "Dados do evento são obrigatórios";
+        }
+        Set<ConstraintViolation<EventoRequestDTO>> violacoes = validator.validate(dto);
+        if (!violacoes.isEmpty()) {
+            return mensagens(violacoes);
+        }
+        if (dto.getData() == null) {
+            return "Data é obrigatória";
+        }
+        if (dto.getAdministradorId() == null) {
+            return "Administrador é obrigatório";
+        }
+        if (dto.getImagemUrl() != null && dto.getImagemChave() != null) {
+            return "Informe a URL ou a chave da imagem, não as duas";
+        }
+        return null;
+    }
+
+    static String mensagens(Set<? extends ConstraintViolation<?>> violacoes) {
+        return violacoes.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+    }
+}
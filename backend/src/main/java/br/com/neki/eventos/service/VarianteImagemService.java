@@ -0,0 +1,86 @@
+package br.com.neki.eventos.service;
+
+import br.com.neki.eventos.storage.FormatoImagem;
+import br.com.neki.eventos.storage.ImageStore;
+import br.com.neki.eventos.storage.RedimensionadorImagem;
+import br.com.neki.eventos.storage.VarianteImagem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.io.Resource;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Geração assíncrona das variantes reduzidas (thumb e card) no pool limitado "imagemExecutor"
+@Service
+public class VarianteImagemService {
+
+    private static final Logger log = LoggerFactory.getLogger(VarianteImagemService.class);
+
+    private final ImageStore imageStore;
+    private final TaskExecutor imagemExecutor;
+
+    // Chaves com geração pendente, para não enfileirar o mesmo trabalho duas vezes
+    private final Set<String> emProcessamento = ConcurrentHashMap.newKeySet();
+
+    public VarianteImagemService(ImageStore imageStore,
+                                 @Qualifier("imagemExecutor") TaskExecutor imagemExecutor) {
+        this.imageStore = imageStore;
+        this.imagemExecutor = imagemExecutor;
+    }
+
+    public void solicitar(String chave, FormatoImagem formato, int largura, int altura) {
+        Set<VarianteImagem> pendentes = EnumSet.noneOf(VarianteImagem.class);
+        for (VarianteImagem variante : VarianteImagem.values()) {
+            if (variante.necessaria(formato, largura, altura) && imageStore.carregarVariante(chave, variante).isEmpty()) {
+                pendentes.add(variante);
+            }
+        }
+        if (pendentes.isEmpty() || !emProcessamento.add(chave)) {
+            return;
+        }
+
+        try {
+            imagemExecutor.execute(() -> {
+                try {
+                    gerar(chave, formato, pendentes);
+                } finally {
+                    emProcessamento.remove(chave);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            emProcessamento.remove(chave);
+            log.debug("Fila de variantes cheia; a imagem {} será processada quando for pedida de novo", chave);
+        }
+    }
+
+    private void gerar(String chave, FormatoImagem formato, Set<VarianteImagem> variantes) {
+        Resource original = imageStore.carregar(chave).orElse(null);
+        if (original == null) {
+            return;
+        }
+
+        int maiorLado = variantes.stream().mapToInt(VarianteImagem::getLadoMaximo).max().orElseThrow();
+        try {
+            BufferedImage origem;
+            try (InputStream conteudo = original.getInputStream()) {
+                origem = RedimensionadorImagem.decodificar(conteudo, formato, maiorLado);
+            }
+            for (VarianteImagem variante : variantes) {
+                byte[] jpeg = RedimensionadorImagem.gerarJpeg(origem, variante.getLadoMaximo());
+                imageStore.salvarVariante(chave, variante, new ByteArrayInputStream(jpeg));
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Falha ao gerar variantes da imagem {}", chave, e);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package br.com.neki.eventos.storage;
+
+import java.util.Optional;
+
+// Formatos aceitos no upload, reconhecidos pelos bytes iniciais do arquivo (magic bytes)
+public enum FormatoImagem {
+
+    JPEG("image/jpeg", "jpeg", true),
+    PNG("image/png", "png", true),
+    GIF("image/gif", "gif", true),
+    // O ImageIO do JDK não decodifica WebP, então essas imagens são sempre servidas no original
+    WEBP("image/webp", "webp", false);
+
+    // Quantidade de bytes do início do arquivo necessária para reconhecer qualquer formato da lista
+    static final int TAMANHO_CABECALHO = 12;
+
+    private final String contentType;
+    private final String nomeImageIO;
+    private final boolean redimensionavel;
+
+    FormatoImagem(String contentType, String nomeImageIO, boolean redimensionavel) {
+        this.contentType = contentType;
+        this.nomeImageIO = nomeImageIO;
+        this.redimensionavel = redimensionavel;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    String getNomeImageIO() {
+        return nomeImageIO;
+    }
+
+    public boolean isRedimensionavel() {
+        return redimensionavel;
+    }
+
+    public static Optional<FormatoImagem> doContentType(String contentType) {
+        for (FormatoImagem formato : values()) {
+            if (formato.contentType.equals(contentType)) {
+                return Optional.of(formato);
+            }
+        }
+        return Optional.empty();
+    }
+
+    static Optional<FormatoImagem> detectar(byte[] cabecalho, int lidos) {
+        if (lidos >= 3 && u(cabecalho[0]) == 0xFF && u(cabecalho[1]) == 0xD8 && u(cabecalho[2]) == 0xFF) {
+            return Optional.of(JPEG);
+        }
+        if (lidos >= 8 && u(cabecalho[0]) == 0x89 && ascii(cabecalho, 1, "PNG")
+                && cabecalho[4] == 0x0D && cabecalho[5] == 0x0A && cabecalho[6] == 0x1A && cabecalho[7] == 0x0A) {
+            return Optional.of(PNG);
+        }
+        if (lidos >= 6 && (ascii(cabecalho, 0, "GIF87a") || ascii(cabecalho, 0, "GIF89a"))) {
+            return Optional.of(GIF);
+        }
+        if (lidos >= 12 && ascii(cabecalho, 0, "RIFF") && ascii(cabecalho, 8, "WEBP")) {
+            return Optional.of(WEBP);
+        }
+        return Optional.empty();
+    }
+
+    private static boolean ascii(byte[] bytes, int inicio, String esperado) {
+        for (int i = 0; i < esperado.length(); i++) {
+            if (bytes[inicio + i] != esperado.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int u(byte b) {
+        return b & 0xFF;
+    }
+}
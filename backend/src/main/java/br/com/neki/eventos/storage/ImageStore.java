@@ -0,0 +1,34 @@
+package br.com.neki.eventos.storage;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+// Armazenamento das imagens dos eventos fora da tabela, endereçado pelo SHA-256 do conteúdo
+public interface ImageStore {
+
+    // Grava o conteúdo em streaming; uploads idênticos resultam na mesma chave e são gravados uma vez só.
+    // "aoGravar" recebe a chave ainda sob a trava dela, ou seja, antes que uma remoção da mesma chave comece
+    ImagemArmazenada salvar(InputStream conteudo, Consumer<String> aoGravar) throws IOException;
+
+    Optional<Resource> carregar(String chave);
+
+    // Versões derivadas (redimensionadas) de uma imagem já gravada, guardadas junto ao original;
+    // descartadas se o original já tiver sido removido
+    void salvarVariante(String chave, VarianteImagem variante, InputStream conteudo) throws IOException;
+
+    Optional<Resource> carregarVariante(String chave, VarianteImagem variante);
+
+    // Remove o original e todas as variantes se "condicao" aceitar a chave. A condição é avaliada sob a mesma
+    // trava do salvar, então não se intercala com um upload do mesmo conteúdo; devolve se removeu
+    boolean removerSe(String chave, Predicate<String> condicao) throws IOException;
+
+    // Apaga os arquivos temporários de gravações interrompidas (queda ou kill no meio de um upload ou de uma
+    // variante) não modificados desde "limite"; devolve quantos apagou
+    int removerTemporariosAnterioresA(Instant limite) throws IOException;
+}
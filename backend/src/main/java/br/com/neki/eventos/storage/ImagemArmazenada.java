@@ -0,0 +1,20 @@
+package br.com.neki.eventos.storage;
+
+public class ImagemArmazenada {
+
+    private final String chave;
+    private final long tamanho;
+
+    public ImagemArmazenada(String chave, long tamanho) {
+        this.chave = chave;
+        this.tamanho = tamanho;
+    }
+
+    public String getChave() {
+        return chave;
+    }
+
+    public long getTamanho() {
+        return tamanho;
+    }
+}
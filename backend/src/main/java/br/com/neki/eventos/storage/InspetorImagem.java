@@ -0,0 +1,97 @@
+package br.com.neki.eventos.storage;
+
+import br.com.neki.eventos.exception.ImagemInvalidaException;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Dimension;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+
+// Validação feita no upload: formato pelos magic bytes e dimensões lidas apenas do cabeçalho
+public final class InspetorImagem {
+
+    private static final int TAMANHO_CABECALHO_WEBP = 30;
+
+    private InspetorImagem() {
+    }
+
+    // Lê os primeiros bytes sem consumi-los (a stream volta ao início para ser gravada em seguida)
+    public static FormatoImagem detectarFormato(BufferedInputStream entrada) throws IOException {
+        byte[] cabecalho = new byte[FormatoImagem.TAMANHO_CABECALHO];
+        entrada.mark(cabecalho.length);
+        int lidos = entrada.readNBytes(cabecalho, 0, cabecalho.length);
+        entrada.reset();
+
+        return FormatoImagem.detectar(cabecalho, lidos)
+                .orElseThrow(() -> new ImagemInvalidaException("Formato de imagem não suportado. Envie JPEG, PNG, GIF ou WebP."));
+    }
+
+    public static Dimension lerDimensoes(InputStream conteudo, FormatoImagem formato) throws IOException {
+        Dimension dimensoes = formato == FormatoImagem.WEBP
+                ? lerDimensoesWebp(conteudo)
+                : lerDimensoesImageIO(conteudo, formato);
+
+        if (dimensoes.width <= 0 || dimensoes.height <= 0) {
+            throw new ImagemInvalidaException("Imagem corrompida ou incompleta");
+        }
+        return dimensoes;
+    }
+
+    private static Dimension lerDimensoesImageIO(InputStream conteudo, FormatoImagem formato) throws IOException {
+        try (ImageInputStream entrada = ImageIO.createImageInputStream(conteudo)) {
+            Iterator<ImageReader> leitores = ImageIO.getImageReadersByFormatName(formato.getNomeImageIO());
+            if (entrada == null || !leitores.hasNext()) {
+                throw new ImagemInvalidaException("Formato de imagem não suportado");
+            }
+            ImageReader leitor = leitores.next();
+            try {
+                leitor.setInput(entrada, true, true);
+                return new Dimension(leitor.getWidth(0), leitor.getHeight(0));
+            } catch (IOException | RuntimeException e) {
+                throw new ImagemInvalidaException("Imagem corrompida ou incompleta");
+            } finally {
+                leitor.dispose();
+            }
+        }
+    }
+
+    // O ImageIO do JDK não lê WebP; as dimensões ficam no cabeçalho do primeiro chunk (VP8, VP8L ou VP8X)
+    private static Dimension lerDimensoesWebp(InputStream conteudo) throws IOException {
+        byte[] b = conteudo.readNBytes(TAMANHO_CABECALHO_WEBP);
+        if (b.length < TAMANHO_CABECALHO_WEBP) {
+            throw new ImagemInvalidaException("Imagem corrompida ou incompleta");
+        }
+
+        String chunk = new String(b, 12, 4, StandardCharsets.US_ASCII);
+        switch (chunk) {
+            case "VP8 " -> {
+                if (u(b[23]) != 0x9D || u(b[24]) != 0x01 || u(b[25]) != 0x2A) {
+                    throw new ImagemInvalidaException("Imagem corrompida ou incompleta");
+                }
+                return new Dimension((u(b[26]) | u(b[27]) << 8) & 0x3FFF, (u(b[28]) | u(b[29]) << 8) & 0x3FFF);
+            }
+            case "VP8L" -> {
+                if (u(b[20]) != 0x2F) {
+                    throw new ImagemInvalidaException("Imagem corrompida ou incompleta");
+                }
+                int bits = u(b[21]) | u(b[22]) << 8 | u(b[23]) << 16 | u(b[24]) << 24;
+                return new Dimension((bits & 0x3FFF) + 1, (bits >> 14 & 0x3FFF) + 1);
+            }
+            case "VP8X" -> {
+                return new Dimension(
+                        (u(b[24]) | u(b[25]) << 8 | u(b[26]) << 16) + 1,
+                        (u(b[27]) | u(b[28]) << 8 | u(b[29]) << 16) + 1);
+            }
+            default -> throw new ImagemInvalidaException("Imagem corrompida ou incompleta");
+        }
+    }
+
+    private static int u(byte b) {
+        return b & 0xFF;
+    }
+}
@@ -0,0 +1,187 @@
+package br.com.neki.eventos.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+// Implementação em disco local: <diretorio>/<2 primeiros hex>/<sha256>[_<variante>]
+@Component
+public class LocalImageStore implements ImageStore {
+
+    private static final Pattern CHAVE_VALIDA = Pattern.compile("[0-9a-f]{64}");
+    private static final int TRAVAS = 64;
+
+    private final Path diretorio;
+    private final Path temporarios;
+    // Gravação e remoção de uma mesma chave não se intercalam (travas repartidas pelo prefixo da chave)
+    private final Lock[] travas = new Lock[TRAVAS];
+
+    public LocalImageStore(@Value("${app.imagens.diretorio:uploads/imagens}") String diretorio) throws IOException {
+        this.diretorio = Path.of(diretorio).toAbsolutePath().normalize();
+        this.temporarios = this.diretorio.resolve("tmp");
+        Files.createDirectories(temporarios);
+        for (int i = 0; i < travas.length; i++) {
+            travas[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public ImagemArmazenada salvar(InputStream conteudo, Consumer<String> aoGravar) throws IOException {
+        // O arquivo temporário fica no mesmo volume para que a movimentação final seja atômica
+        Path temporario = Files.createTempFile(temporarios, "upload-", ".tmp");
+        try {
+            MessageDigest digest = novoDigest();
+            long tamanho;
+            try (DigestInputStream entrada = new DigestInputStream(conteudo, digest)) {
+                tamanho = Files.copy(entrada, temporario, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            String chave = HexFormat.of().formatHex(digest.digest());
+            Path destino = resolver(chave);
+            Lock trava = trava(chave);
+            trava.lock();
+            try {
+                // Conteúdo já gravado fica como está (a data do arquivo é o Last-Modified servido)
+                if (!Files.exists(destino)) {
+                    Files.createDirectories(destino.getParent());
+                    try {
+                        Files.move(temporario, destino, StandardCopyOption.ATOMIC_MOVE);
+                    } catch (FileAlreadyExistsException e) {
+                        // Outra instância gravou o mesmo conteúdo primeiro
+                    }
+                }
+                aoGravar.accept(chave);
+            } finally {
+                trava.unlock();
+            }
+            return new ImagemArmazenada(chave, tamanho);
+        } finally {
+            Files.deleteIfExists(temporario);
+        }
+    }
+
+    @Override
+    public Optional<Resource> carregar(String chave) {
+        if (!chaveValida(chave)) {
+            return Optional.empty();
+        }
+        Path arquivo = resolver(chave);
+        return Files.isRegularFile(arquivo) ? Optional.of(new FileSystemResource(arquivo)) : Optional.empty();
+    }
+
+    @Override
+    public void salvarVariante(String chave, VarianteImagem variante, InputStream conteudo) throws IOException {
+        if (!chaveValida(chave)) {
+            throw new IllegalArgumentException("Chave de imagem inválida: " + chave);
+        }
+        Path temporario = Files.createTempFile(temporarios, "variante-", ".tmp");
+        try {
+            Files.copy(conteudo, temporario, StandardCopyOption.REPLACE_EXISTING);
+            Lock trava = trava(chave);
+            trava.lock();
+            try {
+                // A limpeza pode ter removido o original enquanto a variante era gerada
+                if (Files.exists(resolver(chave))) {
+                    Files.move(temporario, resolverVariante(chave, variante), StandardCopyOption.ATOMIC_MOVE);
+                }
+            } finally {
+                trava.unlock();
+            }
+        } finally {
+            Files.deleteIfExists(temporario);
+        }
+    }
+
+    @Override
+    public Optional<Resource> carregarVariante(String chave, VarianteImagem variante) {
+        if (!chaveValida(chave)) {
+            return Optional.empty();
+        }
+        Path arquivo = resolverVariante(chave, variante);
+        return Files.isRegularFile(arquivo) ? Optional.of(new FileSystemResource(arquivo)) : Optional.empty();
+    }
+
+    @Override
+    public boolean removerSe(String chave, Predicate<String> condicao) throws IOException {
+        if (!chaveValida(chave)) {
+            return false;
+        }
+        Lock trava = trava(chave);
+        trava.lock();
+        try {
+            if (!condicao.test(chave)) {
+                return false;
+            }
+            for (VarianteImagem variante : VarianteImagem.values()) {
+                Files.deleteIfExists(resolverVariante(chave, variante));
+            }
+            Files.deleteIfExists(resolver(chave));
+            return true;
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    @Override
+    public int removerTemporariosAnterioresA(Instant limite) throws IOException {
+        int removidos = 0;
+        try (DirectoryStream<Path> arquivos = Files.newDirectoryStream(temporarios, "*.tmp")) {
+            for (Path arquivo : arquivos) {
+                try {
+                    if (Files.getLastModifiedTime(arquivo).toInstant().isBefore(limite) && Files.deleteIfExists(arquivo)) {
+                        removidos++;
+                    }
+                } catch (NoSuchFileException e) {
+                    // A gravação terminou e apagou o próprio temporário
+                }
+            }
+        }
+        return removidos;
+    }
+
+    // ReentrantLock em vez de synchronized para não prender a thread de plataforma com threads virtuais
+    private Lock trava(String chave) {
+        return travas[HexFormat.fromHexDigits(chave, 0, 2) % travas.length];
+    }
+
+    private Path resolver(String chave) {
+        return diretorio.resolve(chave.substring(0, 2)).resolve(chave);
+    }
+
+    private Path resolverVariante(String chave, VarianteImagem variante) {
+        return diretorio.resolve(chave.substring(0, 2)).resolve(chave + "_" + variante.getNome());
+    }
+
+    private static boolean chaveValida(String chave) {
+        return chave != null && CHAVE_VALIDA.matcher(chave).matches();
+    }
+
+    private static MessageDigest novoDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível na JVM", e);
+        }
+    }
+}
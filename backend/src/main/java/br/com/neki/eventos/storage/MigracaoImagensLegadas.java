@@ -0,0 +1,103 @@
+package br.com.neki.eventos.storage;
+
+import br.com.neki.eventos.exception.ImagemInvalidaException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.io.Resource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.awt.Dimension;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.util.List;
+
+// Move para o ImageStore as imagens que bancos antigos ainda guardam na coluna eventos.imagem
+@Component
+public class MigracaoImagensLegadas implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(MigracaoImagensLegadas.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ImageStore imageStore;
+
+    public MigracaoImagensLegadas(JdbcTemplate jdbcTemplate, ImageStore imageStore) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.imageStore = imageStore;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!possuiColunaLegada()) {
+            return;
+        }
+
+        List<Long> ids = jdbcTemplate.queryForList(
+                "select id from eventos where imagem is not null and imagem_chave is null", Long.class);
+
+        for (Long id : ids) {
+            jdbcTemplate.query("select imagem from eventos where id = ?", rs -> {
+                try (BufferedInputStream conteudo = new BufferedInputStream(rs.getBinaryStream(1))) {
+                    migrar(id, conteudo);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, id);
+        }
+
+        if (!ids.isEmpty()) {
+            log.info("{} imagens migradas da coluna eventos.imagem para o armazenamento de arquivos", ids.size());
+        }
+    }
+
+    // Imagens antigas não passaram pela validação do upload: as que não forem reconhecidas
+    // são migradas mesmo assim, sem tipo nem dimensões
+    private void migrar(Long id, BufferedInputStream conteudo) throws IOException {
+        FormatoImagem formato = null;
+        try {
+            formato = InspetorImagem.detectarFormato(conteudo);
+        } catch (ImagemInvalidaException e) {
+            log.warn("Imagem do evento {} em formato não reconhecido", id);
+        }
+
+        // O evento passa a referenciar a chave logo abaixo, então não há o que registrar para a limpeza
+        ImagemArmazenada armazenada = imageStore.salvar(conteudo, chave -> { });
+
+        Dimension dimensoes = null;
+        Resource arquivo = imageStore.carregar(armazenada.getChave()).orElse(null);
+        if (formato != null && arquivo != null) {
+            try (InputStream gravado = arquivo.getInputStream()) {
+                dimensoes = InspetorImagem.lerDimensoes(gravado, formato);
+            } catch (ImagemInvalidaException e) {
+                log.warn("Não foi possível ler as dimensões da imagem do evento {}", id);
+            }
+        }
+
+        jdbcTemplate.update("""
+                update eventos
+                set imagem_chave = ?, imagem_content_type = ?, imagem_tamanho = ?,
+                    imagem_largura = ?, imagem_altura = ?, imagem = null
+                where id = ?
+                """,
+                armazenada.getChave(),
+                formato != null ? formato.getContentType() : null,
+                armazenada.getTamanho(),
+                dimensoes != null ? dimensoes.width : null,
+                dimensoes != null ? dimensoes.height : null,
+                id);
+    }
+
+    private boolean possuiColunaLegada() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((Connection conexao) -> {
+            try (ResultSet colunas = conexao.getMetaData().getColumns(null, null, "eventos", "imagem")) {
+                return colunas.next();
+            }
+        }));
+    }
+}
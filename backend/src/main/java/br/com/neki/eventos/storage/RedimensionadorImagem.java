@@ -0,0 +1,82 @@
+package br.com.neki.eventos.storage;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+
+// Decodificação com subamostragem e reescala para JPEG das variantes reduzidas
+public final class RedimensionadorImagem {
+
+    private static final float QUALIDADE_JPEG = 0.82f;
+
+    private RedimensionadorImagem() {
+    }
+
+    // Decodifica já reduzindo (subamostragem) para no mínimo o dobro do maior lado pedido,
+    // evitando alocar a imagem original inteira na memória
+    public static BufferedImage decodificar(InputStream conteudo, FormatoImagem formato, int maiorLado) throws IOException {
+        try (ImageInputStream entrada = ImageIO.createImageInputStream(conteudo)) {
+            Iterator<ImageReader> leitores = ImageIO.getImageReadersByFormatName(formato.getNomeImageIO());
+            if (entrada == null || !leitores.hasNext()) {
+                throw new IOException("Formato não decodificável: " + formato);
+            }
+            ImageReader leitor = leitores.next();
+            try {
+                leitor.setInput(entrada, true, true);
+                int lado = Math.max(leitor.getWidth(0), leitor.getHeight(0));
+                int passo = Math.max(1, lado / (maiorLado * 2));
+
+                ImageReadParam parametros = leitor.getDefaultReadParam();
+                parametros.setSourceSubsampling(passo, passo, 0, 0);
+                return leitor.read(0, parametros);
+            } finally {
+                leitor.dispose();
+            }
+        }
+    }
+
+    public static byte[] gerarJpeg(BufferedImage origem, int ladoMaximo) throws IOException {
+        double escala = Math.min(1.0, (double) ladoMaximo / Math.max(origem.getWidth(), origem.getHeight()));
+        int largura = Math.max(1, (int) Math.round(origem.getWidth() * escala));
+        int altura = Math.max(1, (int) Math.round(origem.getHeight() * escala));
+
+        // JPEG não tem transparência: o fundo de PNG/GIF vira branco
+        BufferedImage destino = new BufferedImage(largura, altura, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = destino.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, largura, altura);
+            g.drawImage(origem, 0, 0, largura, altura, null);
+        } finally {
+            g.dispose();
+        }
+
+        ImageWriter escritor = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        try (ImageOutputStream destinoStream = ImageIO.createImageOutputStream(saida)) {
+            ImageWriteParam parametros = escritor.getDefaultWriteParam();
+            parametros.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            parametros.setCompressionQuality(QUALIDADE_JPEG);
+            escritor.setOutput(destinoStream);
+            escritor.write(null, new IIOImage(destino, null, null), parametros);
+        } finally {
+            escritor.dispose();
+        }
+        return saida.toByteArray();
+    }
+}
@@ -0,0 +1,43 @@
+package br.com.neki.eventos.storage;
+
+import java.util.Arrays;
+
+// Versões servidas de cada imagem: as reduzidas são geradas em segundo plano após o upload
+public enum VarianteImagem {
+
+    THUMB("thumb", 320),
+    CARD("card", 800),
+    FULL("full", 0);
+
+    private final String nome;
+    private final int ladoMaximo;
+
+    VarianteImagem(String nome, int ladoMaximo) {
+        this.nome = nome;
+        this.ladoMaximo = ladoMaximo;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public int getLadoMaximo() {
+        return ladoMaximo;
+    }
+
+    // Só vale gerar a variante se o formato puder ser decodificado e o original for maior que ela;
+    // caso contrário o próprio original é a resposta definitiva
+    public boolean necessaria(FormatoImagem formato, Integer largura, Integer altura) {
+        if (this == FULL || formato == null || !formato.isRedimensionavel() || largura == null || altura == null) {
+            return false;
+        }
+        return Math.max(largura, altura) > ladoMaximo;
+    }
+
+    public static VarianteImagem deParametro(String valor) {
+        return Arrays.stream(values())
+                .filter(v -> v.nome.equalsIgnoreCase(valor))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Variante de imagem desconhecida: " + valor));
+    }
+}
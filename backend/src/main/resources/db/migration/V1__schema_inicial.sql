@@ -0,0 +1,39 @@
+-- Schema inicial, equivalente ao que o Hibernate gerava com ddl-auto=update.
+-- Usa "if not exists" para também valer em bancos criados antes do Flyway: nesses, as tabelas
+-- já existem e só as colunas que faltarem são adicionadas.
+
+create table if not exists administradores (
+    id    bigint generated by default as identity primary key,
+    nome  varchar(255) not null,
+    email varchar(255) not null,
+    senha varchar(255) not null,
+    constraint uk_administradores_email unique (email)
+);
+
+create table if not exists eventos (
+    id                  bigint generated by default as identity primary key,
+    nome                varchar(255) not null,
+    data                timestamp(6) not null,
+    localizacao         varchar(255) not null,
+    imagem_url          varchar(255),
+    administrador_id    bigint not null,
+    constraint fk_eventos_administrador foreign key (administrador_id) references administradores (id)
+);
+
+-- Metadados da imagem guardada no ImageStore (a coluna antiga "imagem" é migrada na inicialização)
+alter table eventos add column if not exists imagem_chave varchar(64);
+alter table eventos add column if not exists imagem_content_type varchar(50);
+alter table eventos add column if not exists imagem_tamanho bigint;
+alter table eventos add column if not exists imagem_largura integer;
+alter table eventos add column if not exists imagem_altura integer;
+
+create table if not exists refresh_tokens (
+    id               bigint generated by default as identity primary key,
+    token_hash       varchar(64) not null,
+    familia          varchar(36) not null,
+    expira_em        timestamp(6) with time zone not null,
+    revogado_em      timestamp(6) with time zone,
+    administrador_id bigint not null,
+    constraint uk_refresh_tokens_token_hash unique (token_hash),
+    constraint fk_refresh_tokens_administrador foreign key (administrador_id) references administradores (id)
+);
@@ -0,0 +1,13 @@
+-- Listagem por administrador (where administrador_id = ? order by data, id); também atende a FK
+create index if not exists idx_eventos_administrador_data on eventos (administrador_id, data, id);
+
+-- Listagem geral paginada por keyset (order by data, id)
+create index if not exists idx_eventos_data_id on eventos (data, id);
+
+-- Conferência de imagem ainda referenciada antes de apagar o arquivo
+create index if not exists idx_eventos_imagem_chave on eventos (imagem_chave);
+
+-- Revogação da família e limpeza dos expirados
+create index if not exists idx_refresh_tokens_familia on refresh_tokens (familia);
+create index if not exists idx_refresh_tokens_expira_em on refresh_tokens (expira_em);
+create index if not exists idx_refresh_tokens_administrador on refresh_tokens (administrador_id);
@@ -0,0 +1,5 @@
+-- Ids de eventos passam a vir de uma sequência com incremento 50 (alocação em blocos pelo Hibernate),
+-- o que permite agrupar os INSERTs em lotes JDBC. A identidade da coluna deixa de existir, para que nenhuma
+-- inserção use a sequência interna dela e gere ids que o Hibernate ainda vai alocar.
+create sequence if not exists eventos_seq start with 1 increment by 50;
+alter table eventos alter column id drop identity;
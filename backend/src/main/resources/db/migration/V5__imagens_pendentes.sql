@@ -0,0 +1,8 @@
+-- Imagens que podem ter ficado sem evento: recém-gravadas por um upload (o evento ainda não foi salvo)
+-- ou de eventos excluídos. A limpeza do ImagemService só revisita estas chaves, depois da carência.
+create table if not exists imagens_pendentes (
+    chave         varchar(64) primary key,
+    registrada_em timestamp(6) with time zone not null
+);
+
+create index if not exists idx_imagens_pendentes_registrada_em on imagens_pendentes (registrada_em);
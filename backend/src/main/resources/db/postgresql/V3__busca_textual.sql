@@ -0,0 +1,16 @@
+-- Busca textual em nome e localização (só PostgreSQL; em outros bancos a busca usa LIKE)
+
+create extension if not exists pg_trgm;
+
+-- Vetor de busca mantido pelo próprio banco; o nome pesa mais que a localização no ranking
+alter table eventos add column if not exists busca tsvector
+    generated always as (
+        setweight(to_tsvector('portuguese', coalesce(nome, '')), 'A') ||
+        setweight(to_tsvector('portuguese', coalesce(localizacao, '')), 'B')
+    ) stored;
+
+create index if not exists idx_eventos_busca on eventos using gin (busca);
+
+-- Trigramas para prefixos, erros de digitação e o filtro q da listagem (lower(...) like '%texto%')
+create index if not exists idx_eventos_nome_trgm on eventos using gin (lower(nome) gin_trgm_ops);
+create index if not exists idx_eventos_localizacao_trgm on eventos using gin (lower(localizacao) gin_trgm_ops);
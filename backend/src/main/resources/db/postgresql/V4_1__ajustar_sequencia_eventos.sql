@@ -0,0 +1,2 @@
+-- Bancos que já têm eventos: a sequência começa depois do maior id existente
+select setval('eventos_seq', coalesce(max(id), 0) + 50, false) from eventos;
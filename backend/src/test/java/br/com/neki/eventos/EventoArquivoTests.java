@@ -0,0 +1,186 @@
+package br.com.neki.eventos;
+
+import br.com.neki.eventos.dto.AdministradorDTO;
+import br.com.neki.eventos.dto.AdministradorRequestDTO;
+import br.com.neki.eventos.dto.EventoDTO;
+import br.com.neki.eventos.dto.EventoRequestDTO;
+import br.com.neki.eventos.repository.EventoRepository;
+import br.com.neki.eventos.service.AdministradorService;
+import br.com.neki.eventos.service.EventoService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Exportação seguida de importação e importação de arquivos com registros recusados.
+// O banco é compartilhado com as outras classes, então só as linhas do administrador do teste são reimportadas.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser
+class EventoArquivoTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private AdministradorService administradorService;
+
+	@Autowired
+	private EventoService eventoService;
+
+	@Autowired
+	private EventoRepository eventoRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@AfterEach
+	void removerRestricao() {
+		jdbcTemplate.execute("alter table eventos drop constraint if exists ck_eventos_importacao_teste");
+	}
+
+	@Test
+	void exportacaoPodeSerImportadaDeVolta() throws Exception {
+		AdministradorDTO admin = cadastrarComEventos("idavolta", 3);
+		criarComUpload(admin);
+		List<String> originais = resumo(admin);
+
+		reimportar(admin, "ndjson", "application/x-ndjson", 4);
+		reimportar(admin, "csv", "text/csv", 8);
+
+		// A segunda exportação já inclui os reimportados: cada evento aparece quatro vezes, com os mesmos campos
+		// e, no enviado por upload, a mesma imagem
+		List<String> esperados = originais.stream().flatMap(e -> List.of(e, e, e, e).stream()).sorted().toList();
+		assertEquals(esperados, resumo(admin));
+
+		// O tempo da exportação é o da escrita do corpo, não o da criação do StreamingResponseBody
+		Timer exportacao = meterRegistry.get("servicos").tag("method", "exportar").timer();
+		assertTrue(exportacao.count() >= 2);
+		assertTrue(exportacao.totalTime(TimeUnit.NANOSECONDS) > 0);
+	}
+
+	@Test
+	void importacaoContinuaDepoisDeRegistrosRecusados() throws Exception {
+		AdministradorDTO admin = cadastrarComEventos("importacaofalhas", 0);
+		jdbcTemplate.execute("alter table eventos add constraint ck_eventos_importacao_teste check (nome <> 'Recusado')");
+
+		String arquivo = String.join("\n",
+				registro("Primeiro", "null", admin),
+				registro("Url longa", "\"https://neki.com/" + "a".repeat(293) + "\"", admin),
+				registro("Recusado", "null", admin),
+				"{\"nome\":\"Sem data\",\"data\":\"amanhã\",\"localizacao\":\"Olinda\",\"administradorId\":" + admin.getId() + "}",
+				registro("Último", "null", admin),
+				"{\"nome\":\"Imagem de outro servidor\",\"data\":\"2032-05-01T19:30:00\",\"localizacao\":\"Olinda\","
+						+ "\"imagemChave\":\"" + "0".repeat(64) + "\",\"administradorId\":" + admin.getId() + "}") + "\n";
+
+		mockMvc.perform(post("/eventos/import").contentType("application/x-ndjson").content(arquivo))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.total").value(6))
+				.andExpect(jsonPath("$.importados").value(2))
+				.andExpect(jsonPath("$.falhas").value(4))
+				.andExpect(jsonPath("$.erros[*].indice", containsInAnyOrder(1, 2, 3, 5)))
+				.andExpect(jsonPath("$.erros[?(@.indice == 1)].erro", contains(containsString("URL da imagem"))))
+				.andExpect(jsonPath("$.erros[?(@.indice == 2)].erro", contains("O banco de dados recusou o item")))
+				.andExpect(jsonPath("$.erros[?(@.indice == 5)].erro", contains("Imagem não encontrada")));
+
+		assertEquals(List.of("Primeiro", "Último"), eventoService.listarPorAdministrador(admin.getId()).stream()
+				.map(EventoDTO::getNome).sorted().toList());
+	}
+
+	// Exporta, fica só com as linhas do administrador (coluna administradorId) e importa de volta
+	private void reimportar(AdministradorDTO admin, String formato, String contentType, int linhasEsperadas)
+			throws Exception {
+		MvcResult exportacao = mockMvc.perform(get("/eventos/export").param("formato", formato))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		String conteudo = mockMvc.perform(asyncDispatch(exportacao))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+		List<String> linhas = conteudo.lines().toList();
+		Function<String, Boolean> doAdministrador = formato.equals("csv")
+				? linha -> linha.split(",", -1)[4].equals(admin.getId().toString())
+				: linha -> linha.contains("\"administradorId\":" + admin.getId() + ",");
+		String arquivo = linhas.stream().skip(formato.equals("csv") ? 1 : 0).filter(doAdministrador::apply)
+				.collect(Collectors.joining("\n", formato.equals("csv") ? linhas.get(0) + "\n" : "", "\n"));
+
+		mockMvc.perform(post("/eventos/import").contentType(contentType).content(arquivo))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.total").value(linhasEsperadas))
+				.andExpect(jsonPath("$.importados").value(linhasEsperadas))
+				.andExpect(jsonPath("$.falhas").value(0));
+	}
+
+	// A URL da imagem enviada por upload leva o id do evento: no resumo entra a chave do arquivo
+	private List<String> resumo(AdministradorDTO admin) {
+		return eventoService.listarPorAdministrador(admin.getId()).stream()
+				.map(e -> e.getNome() + "|" + e.getData() + "|" + e.getLocalizacao() + "|"
+						+ (e.getImagemUrl() != null && e.getImagemUrl().startsWith("/eventos/") ? "upload" : e.getImagemUrl())
+						+ "|" + eventoRepository.buscarImagemResumo(e.getId()).orElseThrow().getChave())
+				.sorted().toList();
+	}
+
+	private static String registro(String nome, String imagemUrl, AdministradorDTO admin) {
+		return "{\"nome\":\"" + nome + "\",\"data\":\"2032-05-01T19:30:00\",\"localizacao\":\"Olinda\","
+				+ "\"imagemUrl\":" + imagemUrl + ",\"administradorId\":" + admin.getId() + "}";
+	}
+
+	private void criarComUpload(AdministradorDTO admin) throws IOException {
+		BufferedImage imagem = new BufferedImage(8, 8, BufferedImage.TYPE_INT_RGB);
+		imagem.setRGB(0, 0, ThreadLocalRandom.current().nextInt());
+		ByteArrayOutputStream png = new ByteArrayOutputStream();
+		ImageIO.write(imagem, "png", png);
+
+		EventoRequestDTO dto = new EventoRequestDTO();
+		dto.setNome("Evento com upload");
+		dto.setLocalizacao("Olinda");
+		dto.setData(LocalDateTime.of(2032, 4, 20, 21, 15));
+		dto.setAdministradorId(admin.getId());
+		eventoService.criarComUpload(dto, new MockMultipartFile("imagem", "capa.png", "image/png", png.toByteArray()));
+	}
+
+	private AdministradorDTO cadastrarComEventos(String nome, int quantidade) {
+		AdministradorDTO admin = administradorService.cadastrar(
+				new AdministradorRequestDTO(nome, nome + "@neki.com", "segredo"));
+		for (int i = 0; i < quantidade; i++) {
+			EventoRequestDTO dto = new EventoRequestDTO();
+			dto.setNome("Evento " + nome + " " + i);
+			dto.setLocalizacao("Olinda");
+			dto.setData(LocalDateTime.of(2032, 4, 1 + i, 21, 15));
+			dto.setImagemUrl(i == 0 ? "https://neki.com/capa.png" : null);
+			dto.setAdministradorId(admin.getId());
+			eventoService.criarComUrl(dto);
+		}
+		return admin;
+	}
+}
@@ -0,0 +1,60 @@
+package br.com.neki.eventos;
+
+import br.com.neki.eventos.dto.AdministradorDTO;
+import br.com.neki.eventos.dto.AdministradorRequestDTO;
+import br.com.neki.eventos.dto.EventoDTO;
+import br.com.neki.eventos.dto.EventoRequestDTO;
+import br.com.neki.eventos.dto.PaginaDTO;
+import br.com.neki.eventos.exception.FiltroInvalidoException;
+import br.com.neki.eventos.service.AdministradorService;
+import br.com.neki.eventos.service.EventoService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class EventoBuscaTests {
+
+	@Autowired
+	private AdministradorService administradorService;
+
+	@Autowired
+	private EventoService eventoService;
+
+	@Test
+	void buscaPorNomeOuLocalizacaoComPaginacao() {
+		AdministradorDTO admin = administradorService.cadastrar(
+				new AdministradorRequestDTO("Busca", "busca@neki.com", "segredo"));
+		criarEvento(admin.getId(), "Festival de Jazz", "Recife");
+		criarEvento(admin.getId(), "Jazz na Praça", "Olinda");
+		criarEvento(admin.getId(), "Feira de Livros", "Recife Antigo");
+
+		PaginaDTO<EventoDTO> primeira = eventoService.buscar("jazz", null, 1);
+		assertEquals(1, primeira.getItens().size());
+		assertNotNull(primeira.getProximoCursor());
+
+		PaginaDTO<EventoDTO> segunda = eventoService.buscar("jazz", primeira.getProximoCursor(), 1);
+		assertEquals(1, segunda.getItens().size());
+		assertNull(segunda.getProximoCursor());
+		assertNotEquals(primeira.getItens().get(0).getId(), segunda.getItens().get(0).getId());
+
+		assertEquals(2, eventoService.buscar("recife", null, 10).getItens().size());
+		assertTrue(eventoService.buscar("teatro", null, 10).getItens().isEmpty());
+		assertThrows(FiltroInvalidoException.class, () -> eventoService.buscar(" ", null, 10));
+	}
+
+	private void criarEvento(Long administradorId, String nome, String localizacao) {
+		EventoRequestDTO dto = new EventoRequestDTO();
+		dto.setNome(nome);
+		dto.setLocalizacao(localizacao);
+		dto.setData(LocalDateTime.of(2030, 1, 1, 20, 0));
+		dto.setAdministradorId(administradorId);
+		eventoService.criarComUrl(dto);
+	}
+}
@@ -0,0 +1,162 @@
+package br.com.neki.eventos;
+
+import br.com.neki.eventos.diagnostico.ConsultasRequisicao;
+import br.com.neki.eventos.dto.AdministradorDTO;
+import br.com.neki.eventos.dto.AdministradorRequestDTO;
+import br.com.neki.eventos.dto.EventoDTO;
+import br.com.neki.eventos.dto.EventoRequestDTO;
+import br.com.neki.eventos.service.AdministradorService;
+import br.com.neki.eventos.service.EventoService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Orçamento de consultas SQL por endpoint, medido pelo detector de N+1 (app.diagnostico.consultas).
+// O cache de segundo nível é esvaziado antes de cada requisição para medir o pior caso.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser
+class EventoConsultasTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private AdministradorService administradorService;
+
+	@Autowired
+	private EventoService eventoService;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Value("${app.diagnostico.consultas.limite-repeticoes}")
+	private int limiteRepeticoes;
+
+	@AfterEach
+	void removerRestricao() {
+		jdbcTemplate.execute("alter table eventos drop constraint if exists ck_eventos_consultas_teste");
+	}
+
+	@Test
+	void listagensFazemUmaConsulta() throws Exception {
+		AdministradorDTO admin = cadastrarComEventos("listagens", 5);
+
+		executar(get("/eventos/admin/" + admin.getId()), 1);
+		executar(get("/eventos"), 1);
+		executar(get("/eventos/busca").param("q", "Evento"), 1);
+	}
+
+	@Test
+	void atualizacaoEExclusaoDeUmEvento() throws Exception {
+		AdministradorDTO admin = cadastrarComEventos("individual", 2);
+		EventoDTO[] eventos = eventoService.listarPorAdministrador(admin.getId()).toArray(EventoDTO[]::new);
+
+		executar(put("/eventos/" + eventos[0].getId())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"localizacao\":\"Garanhuns\"}"), 2);
+		executar(delete("/eventos/" + eventos[1].getId()), 2);
+	}
+
+	@Test
+	void criacaoNaoCarregaOAdministrador() throws Exception {
+		AdministradorDTO admin = cadastrarComEventos("criacao", 0);
+
+		// Conferência do administrador e insert (mais o próximo bloco da sequência, quando acaba)
+		executar(post("/eventos/url")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"nome\":\"Novo\",\"data\":\"2030-02-01T20:00:00\",\"localizacao\":\"Caruaru\","
+						+ "\"administradorId\":" + admin.getId() + "}"), 3);
+	}
+
+	@Test
+	void lotesDeVariosAdministradoresSemNMaisUm() throws Exception {
+		List<Long> ids = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			AdministradorDTO admin = cadastrarComEventos("lote" + i, 3);
+			eventoService.listarPorAdministrador(admin.getId()).forEach(evento -> ids.add(evento.getId()));
+		}
+
+		executar(patch("/eventos/batch")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(ids.stream().map(id -> "{\"id\":" + id + ",\"localizacao\":\"Garanhuns\"}")
+						.collect(Collectors.joining(",", "[", "]"))), 2);
+		executar(delete("/eventos/batch")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(ids.toString()), 2);
+	}
+
+	@Test
+	void regravacaoItemAItemNaoEhNMaisUm() throws Exception {
+		AdministradorDTO admin = cadastrarComEventos("regravacao", 5);
+		List<Long> ids = eventoService.listarPorAdministrador(admin.getId()).stream().map(EventoDTO::getId).toList();
+		jdbcTemplate.execute("alter table eventos add constraint ck_eventos_consultas_teste check (localizacao <> 'Recusada')");
+
+		// O banco recusa o bloco (consulta e update) e os 5 itens são regravados um a um, cada um com a sua consulta
+		executar(patch("/eventos/batch")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(ids.stream()
+						.map(id -> "{\"id\":" + id + ",\"localizacao\":\"" + (id.equals(ids.get(2)) ? "Recusada" : "Garanhuns") + "\"}")
+						.collect(Collectors.joining(",", "[", "]"))), 12);
+	}
+
+	private void executar(RequestBuilder requisicao, int orcamento) throws Exception {
+		entityManagerFactory.getCache().evictAll();
+		mockMvc.perform(requisicao)
+				.andExpect(status().is2xxSuccessful())
+				.andExpect(consultasNoMaximo(orcamento));
+	}
+
+	private ResultMatcher consultasNoMaximo(int orcamento) {
+		return resultado -> {
+			ConsultasRequisicao consultas =
+					(ConsultasRequisicao) resultado.getRequest().getAttribute(ConsultasRequisicao.ATRIBUTO);
+			assertNotNull(consultas, "Detector de consultas desligado");
+
+			String endpoint = resultado.getRequest().getMethod() + " " + resultado.getRequest().getRequestURI();
+			Map<String, Integer> suspeitas = consultas.suspeitasNMaisUm(limiteRepeticoes);
+			assertTrue(suspeitas.isEmpty(), () -> endpoint + ": possível N+1 " + suspeitas);
+			assertTrue(consultas.getTotal() <= orcamento, () -> endpoint + ": " + consultas.getTotal()
+					+ " consultas, orçamento " + orcamento + " " + consultas.getExecucoes());
+		};
+	}
+
+	private AdministradorDTO cadastrarComEventos(String nome, int quantidade) {
+		AdministradorDTO admin = administradorService.cadastrar(
+				new AdministradorRequestDTO(nome, nome + "@neki.com", "segredo"));
+		for (int i = 0; i < quantidade; i++) {
+			EventoRequestDTO dto = new EventoRequestDTO();
+			dto.setNome("Evento " + nome + " " + i);
+			dto.setLocalizacao("Caruaru");
+			dto.setData(LocalDateTime.of(2030, 1, 1 + i, 20, 0));
+			dto.setAdministradorId(admin.getId());
+			eventoService.criarComUrl(dto);
+		}
+		return admin;
+	}
+}
@@ -0,0 +1,148 @@
+package br.com.neki.eventos;
+
+import br.com.neki.eventos.dto.AdministradorDTO;
+import br.com.neki.eventos.dto.AdministradorRequestDTO;
+import br.com.neki.eventos.dto.EventoDTO;
+import br.com.neki.eventos.dto.EventoRequestDTO;
+import br.com.neki.eventos.repository.EventoRepository;
+import br.com.neki.eventos.service.AdministradorService;
+import br.com.neki.eventos.service.EventoService;
+import br.com.neki.eventos.storage.ImageStore;
+import br.com.neki.eventos.storage.VarianteImagem;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Cabeçalhos de cache do download de imagens: ETag pelo hash do conteúdo, 304 na revalidação, 206 com Range
+// e cache longo só para a resposta definitiva (não para o original servido no lugar de uma variante pendente)
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser
+class EventoImagemTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private AdministradorService administradorService;
+
+	@Autowired
+	private EventoService eventoService;
+
+	@Autowired
+	private EventoRepository eventoRepository;
+
+	@Autowired
+	private ImageStore imageStore;
+
+	@Value("${app.imagens.diretorio}")
+	private String diretorio;
+
+	@Test
+	void imagemComEtagERevalidacaoSemOArquivo() throws Exception {
+		byte[] png = png(40, 30);
+		Long id = criar("imagemetag", png);
+		String chave = chave(id);
+
+		mockMvc.perform(get("/eventos/{id}/imagem", id))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"" + chave + "\""))
+				.andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+				.andExpect(header().string(HttpHeaders.CACHE_CONTROL, allOf(containsString("max-age=31536000"),
+						containsString("immutable"))))
+				.andExpect(content().contentType("image/png"))
+				.andExpect(content().bytes(png));
+
+		// Sem o arquivo no disco a revalidação continua respondendo 304: só os metadados do banco são lidos
+		Files.delete(Path.of(diretorio, chave.substring(0, 2), chave));
+		mockMvc.perform(get("/eventos/{id}/imagem", id).header(HttpHeaders.IF_NONE_MATCH, "\"" + chave + "\""))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"" + chave + "\""))
+				.andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("immutable")))
+				.andExpect(content().bytes(new byte[0]));
+	}
+
+	@Test
+	void rangeDevolveParteDaImagem() throws Exception {
+		byte[] png = png(40, 30);
+		Long id = criar("imagemrange", png);
+
+		mockMvc.perform(get("/eventos/{id}/imagem", id).header(HttpHeaders.RANGE, "bytes=0-9"))
+				.andExpect(status().isPartialContent())
+				.andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 0-9/" + png.length))
+				.andExpect(header().string(HttpHeaders.ETAG, "\"" + chave(id) + "\""))
+				.andExpect(content().bytes(Arrays.copyOf(png, 10)));
+	}
+
+	@Test
+	void originalNoLugarDaVariantePendenteNaoFicaEmCacheLongo() throws Exception {
+		Long id = criar("imagemvariante", png(1200, 900));
+		String chave = chave(id);
+		Path variante = Path.of(diretorio, chave.substring(0, 2), chave + "_" + VarianteImagem.CARD.getNome());
+		for (int tentativa = 0; tentativa < 100 && imageStore.carregarVariante(chave, VarianteImagem.CARD).isEmpty(); tentativa++) {
+			Thread.sleep(50);
+		}
+
+		mockMvc.perform(get("/eventos/{id}/imagem", id).param("size", "card"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"" + chave + "_card\""))
+				.andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("immutable")))
+				.andExpect(content().contentType("image/jpeg"));
+
+		// Variante ainda não gerada: o original vai com o próprio ETag e sem cache longo
+		Files.delete(variante);
+		mockMvc.perform(get("/eventos/{id}/imagem", id).param("size", "card"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"" + chave + "\""))
+				.andExpect(header().string(HttpHeaders.CACHE_CONTROL, allOf(containsString("no-cache"),
+						not(containsString("immutable")))))
+				.andExpect(content().contentType("image/png"));
+	}
+
+	private Long criar(String nome, byte[] png) throws IOException {
+		AdministradorDTO admin = administradorService.cadastrar(
+				new AdministradorRequestDTO(nome, nome + "@imagens.neki.com", "segredo"));
+		EventoRequestDTO dto = new EventoRequestDTO();
+		dto.setNome("Evento " + nome);
+		dto.setLocalizacao("Garanhuns");
+		dto.setData(LocalDateTime.of(2034, 7, 10, 20, 0));
+		dto.setAdministradorId(admin.getId());
+		EventoDTO evento = eventoService.criarComUpload(dto, new MockMultipartFile("imagem", "capa.png", "image/png", png));
+		return evento.getId();
+	}
+
+	private String chave(Long id) {
+		return eventoRepository.buscarImagemResumo(id).orElseThrow().getChave();
+	}
+
+	// Conteúdo diferente a cada chamada: o armazenamento é compartilhado pelos testes e deduplica
+	private static byte[] png(int largura, int altura) throws IOException {
+		BufferedImage imagem = new BufferedImage(largura, altura, BufferedImage.TYPE_INT_RGB);
+		imagem.setRGB(0, 0, ThreadLocalRandom.current().nextInt());
+		ByteArrayOutputStream saida = new ByteArrayOutputStream();
+		ImageIO.write(imagem, "png", saida);
+		return saida.toByteArray();
+	}
+}
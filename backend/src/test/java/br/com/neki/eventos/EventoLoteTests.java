@@ -0,0 +1,159 @@
+package br.com.neki.eventos;
+
+import br.com.neki.eventos.dto.AdministradorDTO;
+import br.com.neki.eventos.dto.AdministradorRequestDTO;
+import br.com.neki.eventos.dto.EventoDTO;
+import br.com.neki.eventos.dto.EventoRequestDTO;
+import br.com.neki.eventos.repository.EventoRepository;
+import br.com.neki.eventos.service.AdministradorService;
+import br.com.neki.eventos.service.EventoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Lotes com itens recusados: pela validação (a mesma da criação individual) ou pelo próprio banco (aqui uma
+// restrição criada só para o teste). Os itens válidos do mesmo bloco são gravados e cada recusa aparece no seu item.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser
+class EventoLoteTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private AdministradorService administradorService;
+
+	@Autowired
+	private EventoService eventoService;
+
+	@Autowired
+	private EventoRepository eventoRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@AfterEach
+	void removerRestricao() {
+		jdbcTemplate.execute("alter table eventos drop constraint if exists ck_eventos_lote_teste");
+	}
+
+	@Test
+	void criacaoEmLoteComItensRecusados() throws Exception {
+		AdministradorDTO admin = cadastrar("lotemisto", 0);
+		jdbcTemplate.execute("alter table eventos add constraint ck_eventos_lote_teste check (nome <> 'Recusado')");
+
+		String json = "[" + item("Primeiro", "null", admin) + ","
+				+ item("Url longa", "\"https://neki.com/" + "a".repeat(293) + "\"", admin) + ","
+				+ item("Recusado", "null", admin) + ","
+				+ item("Último", "null", admin) + "]";
+
+		String resposta = mockMvc.perform(post("/eventos/batch").contentType(MediaType.APPLICATION_JSON).content(json))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.sucessos").value(2))
+				.andExpect(jsonPath("$.falhas").value(2))
+				.andExpect(jsonPath("$.itens[*].indice", contains(0, 1, 2, 3)))
+				.andExpect(jsonPath("$.itens[0].sucesso").value(true))
+				.andExpect(jsonPath("$.itens[1].erro", containsString("URL da imagem")))
+				.andExpect(jsonPath("$.itens[2].sucesso").value(false))
+				.andExpect(jsonPath("$.itens[2].erro").value("O banco de dados recusou o item"))
+				.andExpect(jsonPath("$.itens[3].sucesso").value(true))
+				.andReturn().getResponse().getContentAsString();
+
+		List<EventoDTO> gravados = eventoService.listarPorAdministrador(admin.getId());
+		assertEquals(List.of("Primeiro", "Último"), gravados.stream().map(EventoDTO::getNome).sorted().toList(), resposta);
+	}
+
+	@Test
+	void atualizacaoEExclusaoEmLoteComItensRecusados() throws Exception {
+		AdministradorDTO admin = cadastrar("lotemistoatualizacao", 3);
+		List<Long> ids = eventoService.listarPorAdministrador(admin.getId()).stream().map(EventoDTO::getId).sorted().toList();
+		jdbcTemplate.execute("alter table eventos add constraint ck_eventos_lote_teste check (localizacao <> 'Recusada')");
+
+		mockMvc.perform(patch("/eventos/batch").contentType(MediaType.APPLICATION_JSON)
+						.content("[{\"id\":" + ids.get(0) + ",\"localizacao\":\"Petrolina\"},"
+								+ "{\"id\":" + ids.get(1) + ",\"localizacao\":\"Recusada\"},"
+								+ "{\"id\":" + ids.get(2) + ",\"localizacao\":\"" + "b".repeat(300) + "\"},"
+								+ "{\"id\":-1,\"localizacao\":\"Petrolina\"}]"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.sucessos").value(1))
+				.andExpect(jsonPath("$.itens[0].sucesso").value(true))
+				.andExpect(jsonPath("$.itens[1].erro").value("O banco de dados recusou o item"))
+				.andExpect(jsonPath("$.itens[2].erro", containsString("Localização")))
+				.andExpect(jsonPath("$.itens[3].erro").value("Evento não encontrado"));
+
+		assertEquals("Petrolina", eventoRepository.findById(ids.get(0)).orElseThrow().getLocalizacao());
+		assertEquals("Serra Talhada", eventoRepository.findById(ids.get(1)).orElseThrow().getLocalizacao());
+
+		mockMvc.perform(delete("/eventos/batch").contentType(MediaType.APPLICATION_JSON)
+						.content("[" + ids.get(0) + "," + ids.get(0) + ",-1]"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.sucessos").value(1))
+				.andExpect(jsonPath("$.itens[1].erro").value("Id repetido no lote"))
+				.andExpect(jsonPath("$.itens[2].erro").value("Evento não encontrado"));
+
+		assertFalse(eventoRepository.existsById(ids.get(0)));
+	}
+
+	@Test
+	void mesmaValidacaoNoUploadNaUrlENoLote() throws Exception {
+		String semAdministrador = "{\"nome\":\"Sem dono\",\"data\":\"2031-03-01T20:00:00\",\"localizacao\":\"Petrolina\"}";
+
+		mockMvc.perform(multipart("/eventos/upload")
+						.file(new MockMultipartFile("dados", "", MediaType.APPLICATION_JSON_VALUE, semAdministrador.getBytes())))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.message").value("Administrador é obrigatório"));
+		mockMvc.perform(post("/eventos/url").contentType(MediaType.APPLICATION_JSON).content(semAdministrador))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.message").value("Administrador é obrigatório"));
+		mockMvc.perform(post("/eventos/batch").contentType(MediaType.APPLICATION_JSON).content("[" + semAdministrador + "]"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.itens[0].erro").value("Administrador é obrigatório"));
+	}
+
+	@Test
+	void preflightDoPatchEmLote() throws Exception {
+		mockMvc.perform(options("/eventos/batch")
+						.header(HttpHeaders.ORIGIN, "http://localhost:5173")
+						.header(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "PATCH"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ACCESS_CONTROL_ALLOW_METHODS, containsString("PATCH")));
+	}
+
+	private static String item(String nome, String imagemUrl, AdministradorDTO admin) {
+		return "{\"nome\":\"" + nome + "\",\"data\":\"2031-03-01T20:00:00\",\"localizacao\":\"Petrolina\","
+				+ "\"imagemUrl\":" + imagemUrl + ",\"administradorId\":" + admin.getId() + "}";
+	}
+
+	private AdministradorDTO cadastrar(String nome, int quantidade) {
+		AdministradorDTO admin = administradorService.cadastrar(
+				new AdministradorRequestDTO(nome, nome + "@neki.com", "segredo"));
+		for (int i = 0; i < quantidade; i++) {
+			EventoRequestDTO dto = new EventoRequestDTO();
+			dto.setNome("Evento " + nome + " " + i);
+			dto.setLocalizacao("Serra Talhada");
+			dto.setData(LocalDateTime.of(2031, 1, 1 + i, 20, 0));
+			dto.setAdministradorId(admin.getId());
+			eventoService.criarComUrl(dto);
+		}
+		return admin;
+	}
+}
@@ -0,0 +1,164 @@
+package br.com.neki.eventos;
+
+import br.com.neki.eventos.dto.AdministradorDTO;
+import br.com.neki.eventos.dto.AdministradorRequestDTO;
+import br.com.neki.eventos.dto.EventoDTO;
+import br.com.neki.eventos.dto.EventoRequestDTO;
+import br.com.neki.eventos.repository.EventoRepository;
+import br.com.neki.eventos.service.AdministradorService;
+import br.com.neki.eventos.service.EventoLoteService;
+import br.com.neki.eventos.service.EventoService;
+import br.com.neki.eventos.service.ImagemService;
+import br.com.neki.eventos.storage.ImageStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Limpeza das imagens: só revisita as chaves registradas no upload ou na exclusão, depois da carência.
+// Os registros são envelhecidos direto na tabela em vez de esperar a carência.
+@SpringBootTest
+@ActiveProfiles("test")
+class LimpezaImagensTests {
+
+	@Autowired
+	private AdministradorService administradorService;
+
+	@Autowired
+	private EventoService eventoService;
+
+	@Autowired
+	private EventoRepository eventoRepository;
+
+	@Autowired
+	private EventoLoteService eventoLoteService;
+
+	@Autowired
+	private ImagemService imagemService;
+
+	@Autowired
+	private ImageStore imageStore;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void imagemDeEventoExcluidoSaiDepoisDaCarencia() throws IOException {
+		AdministradorDTO admin = cadastrar("limpezaexcluido");
+		byte[] png = png();
+		EventoDTO evento = criar(admin, png);
+		String chave = chave(evento);
+
+		// Recém-gravada: registrada pelo upload e mantida, porque o evento a usa
+		assertTrue(registrada(chave));
+		envelhecer(chave);
+		imagemService.removerNaoUtilizadas();
+		assertTrue(imageStore.carregar(chave).isPresent());
+		assertFalse(registrada(chave));
+
+		eventoService.excluir(evento.getId());
+		assertTrue(registrada(chave));
+		imagemService.removerNaoUtilizadas();
+		assertTrue(imageStore.carregar(chave).isPresent(), "dentro da carência");
+
+		envelhecer(chave);
+		imagemService.removerNaoUtilizadas();
+		assertTrue(imageStore.carregar(chave).isEmpty());
+		assertFalse(registrada(chave));
+	}
+
+	@Test
+	void imagemAindaUsadaOuReenviadaFica() throws IOException {
+		AdministradorDTO admin = cadastrar("limpezacompartilhada");
+		byte[] png = png();
+		EventoDTO primeiro = criar(admin, png);
+		EventoDTO segundo = criar(admin, png);
+		String chave = chave(primeiro);
+
+		// Outro evento ainda usa a imagem
+		eventoService.excluir(primeiro.getId());
+		envelhecer(chave);
+		imagemService.removerNaoUtilizadas();
+		assertTrue(imageStore.carregar(chave).isPresent());
+		assertFalse(registrada(chave));
+
+		// Um upload do mesmo conteúdo depois da exclusão recomeça a carência
+		eventoService.excluir(segundo.getId());
+		envelhecer(chave);
+		imageStore.salvar(new ByteArrayInputStream(png), c -> imagemService.registrarPendentes(List.of(c)));
+		imagemService.removerNaoUtilizadas();
+		assertTrue(imageStore.carregar(chave).isPresent());
+		assertTrue(registrada(chave));
+	}
+
+	@Test
+	void exclusaoEmLoteRegistraAsImagens() throws IOException {
+		AdministradorDTO admin = cadastrar("limpezalote");
+		EventoDTO evento = criar(admin, png());
+		String chave = chave(evento);
+		envelhecer(chave);
+		imagemService.removerNaoUtilizadas();
+		assertFalse(registrada(chave));
+
+		eventoLoteService.excluir(List.of(evento.getId()));
+		assertTrue(registrada(chave));
+		envelhecer(chave);
+		imagemService.removerNaoUtilizadas();
+		assertTrue(imageStore.carregar(chave).isEmpty());
+	}
+
+	private EventoDTO criar(AdministradorDTO admin, byte[] png) throws IOException {
+		EventoRequestDTO dto = new EventoRequestDTO();
+		dto.setNome("Evento com imagem");
+		dto.setLocalizacao("Caruaru");
+		dto.setData(LocalDateTime.of(2033, 6, 24, 18, 0));
+		dto.setAdministradorId(admin.getId());
+		return eventoService.criarComUpload(dto, new MockMultipartFile("imagem", "capa.png", "image/png", png));
+	}
+
+	private String chave(EventoDTO evento) {
+		return eventoRepository.buscarImagemResumo(evento.getId()).orElseThrow().getChave();
+	}
+
+	private void envelhecer(String chave) {
+		jdbcTemplate.update("update imagens_pendentes set registrada_em = ? where chave = ?",
+				Timestamp.from(Instant.now().minus(Duration.ofHours(2))), chave);
+	}
+
+	private boolean registrada(String chave) {
+		return jdbcTemplate.queryForObject("select count(*) from imagens_pendentes where chave = ?", Integer.class, chave) > 0;
+	}
+
+	// Conteúdo diferente a cada chamada: o armazenamento é compartilhado pelos testes e deduplica
+	private static byte[] png() throws IOException {
+		BufferedImage imagem = new BufferedImage(8, 8, BufferedImage.TYPE_INT_RGB);
+		for (int x = 0; x < 8; x++) {
+			for (int y = 0; y < 8; y++) {
+				imagem.setRGB(x, y, ThreadLocalRandom.current().nextInt());
+			}
+		}
+		ByteArrayOutputStream saida = new ByteArrayOutputStream();
+		ImageIO.write(imagem, "png", saida);
+		return saida.toByteArray();
+	}
+
+	private AdministradorDTO cadastrar(String nome) {
+		return administradorService.cadastrar(new AdministradorRequestDTO(nome, nome + "@imagens.neki.com", "segredo"));
+	}
+}
@@ -0,0 +1,98 @@
+package br.com.neki.eventos;
+
+import br.com.neki.eventos.storage.ImagemArmazenada;
+import br.com.neki.eventos.storage.LocalImageStore;
+import br.com.neki.eventos.storage.VarianteImagem;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Gravação e remoção das imagens no disco; a decisão de remover fica com quem chama (ImagemService)
+class LocalImageStoreTests {
+
+	@TempDir
+	Path diretorio;
+
+	@Test
+	void conteudoRepetidoNaoMudaOArquivo() throws IOException {
+		LocalImageStore store = new LocalImageStore(diretorio.toString());
+		List<String> gravadas = new ArrayList<>();
+		String chave = store.salvar(conteudo("conteudo repetido"), gravadas::add).getChave();
+		FileTime original = FileTime.from(Instant.now().minus(Duration.ofDays(3)));
+		Files.setLastModifiedTime(arquivo(chave), original);
+
+		store.salvar(conteudo("conteudo repetido"), gravadas::add);
+
+		// A data do arquivo é o Last-Modified servido: um novo upload igual não a altera
+		assertEquals(original, Files.getLastModifiedTime(arquivo(chave)));
+		assertEquals(List.of(chave, chave), gravadas);
+	}
+
+	@Test
+	void removeOriginalEVariantesSoSeACondicaoAceitar() throws IOException {
+		LocalImageStore store = new LocalImageStore(diretorio.toString());
+		String chave = salvar(store, "conteudo antigo").getChave();
+		String outra = salvar(store, "conteudo recente").getChave();
+		store.salvarVariante(chave, VarianteImagem.THUMB, new ByteArrayInputStream(new byte[] {1, 2, 3}));
+
+		assertFalse(store.removerSe(chave, c -> false));
+		assertTrue(store.carregar(chave).isPresent());
+
+		assertTrue(store.removerSe(chave, c -> true));
+		assertTrue(store.carregar(chave).isEmpty());
+		assertTrue(store.carregarVariante(chave, VarianteImagem.THUMB).isEmpty());
+		assertTrue(store.carregar(outra).isPresent());
+	}
+
+	@Test
+	void varianteDeOriginalRemovidoEDescartada() throws IOException {
+		LocalImageStore store = new LocalImageStore(diretorio.toString());
+		String chave = salvar(store, "conteudo removido").getChave();
+		store.removerSe(chave, c -> true);
+
+		store.salvarVariante(chave, VarianteImagem.CARD, new ByteArrayInputStream(new byte[] {1}));
+
+		assertTrue(store.carregarVariante(chave, VarianteImagem.CARD).isEmpty());
+	}
+
+	@Test
+	void temporariosAntigosSaoRemovidos() throws IOException {
+		LocalImageStore store = new LocalImageStore(diretorio.toString());
+		Path temporarios = diretorio.resolve("tmp");
+		Path interrompido = Files.createTempFile(temporarios, "upload-", ".tmp");
+		Path variante = Files.createTempFile(temporarios, "variante-", ".tmp");
+		Path emAndamento = Files.createTempFile(temporarios, "upload-", ".tmp");
+		FileTime antiga = FileTime.from(Instant.now().minus(Duration.ofHours(2)));
+		Files.setLastModifiedTime(interrompido, antiga);
+		Files.setLastModifiedTime(variante, antiga);
+
+		assertEquals(2, store.removerTemporariosAnterioresA(Instant.now().minus(Duration.ofHours(1))));
+		assertFalse(Files.exists(interrompido));
+		assertFalse(Files.exists(variante));
+		assertTrue(Files.exists(emAndamento));
+	}
+
+	private static ImagemArmazenada salvar(LocalImageStore store, String conteudo) throws IOException {
+		return store.salvar(conteudo(conteudo), chave -> { });
+	}
+
+	private static ByteArrayInputStream conteudo(String conteudo) {
+		return new ByteArrayInputStream(conteudo.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private Path arquivo(String chave) {
+		return diretorio.resolve(chave.substring(0, 2)).resolve(chave);
+	}
+}
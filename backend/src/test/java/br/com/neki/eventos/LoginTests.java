@@ -0,0 +1,89 @@
+package br.com.neki.eventos;
+
+import br.com.neki.eventos.dto.AdministradorRequestDTO;
+import br.com.neki.eventos.service.AdministradorService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Limite de tentativas de login: por e-mail contam só as senhas erradas, e o IP é conferido antes.
+// Cada teste usa o seu IP, porque o limitador é compartilhado pelo contexto.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LoginTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private AdministradorService administradorService;
+
+	@Value("${app.auth.limite.por-email}")
+	private int limitePorEmail;
+
+	@Value("${app.auth.limite.por-ip}")
+	private int limitePorIp;
+
+	@Test
+	void senhasErradasBloqueiamOEmail() throws Exception {
+		String email = cadastrar("bloqueio");
+
+		for (int i = 0; i < limitePorEmail; i++) {
+			login(email, "errada", "10.0.1.1", status().isUnauthorized());
+		}
+		// Mesmo com a senha certa e outro IP, até a janela passar
+		login(email, "segredo", "10.0.1.2", status().isTooManyRequests());
+	}
+
+	@Test
+	void loginCertoZeraAsFalhas() throws Exception {
+		String email = cadastrar("recupera");
+
+		for (int rodada = 0; rodada < 2; rodada++) {
+			for (int i = 0; i < limitePorEmail - 1; i++) {
+				login(email, "errada", "10.0.2." + rodada, status().isUnauthorized());
+			}
+			login(email, "segredo", "10.0.2." + rodada, status().isOk());
+		}
+	}
+
+	@Test
+	void ipBloqueadoNaoGastaAsTentativasDoEmail() throws Exception {
+		String email = cadastrar("porip");
+
+		for (int i = 0; i < limitePorIp; i++) {
+			login("desconhecido" + i + "@neki.com", "errada", "10.0.3.1", status().isUnauthorized());
+		}
+		for (int i = 0; i < limitePorEmail; i++) {
+			login(email, "errada", "10.0.3.1", status().isTooManyRequests());
+		}
+		login(email, "segredo", "10.0.3.2", status().isOk());
+	}
+
+	private void login(String email, String senha, String ip, ResultMatcher esperado) throws Exception {
+		mockMvc.perform(post("/auth/login")
+						.with(requisicao -> {
+							requisicao.setRemoteAddr(ip);
+							return requisicao;
+						})
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"email\":\"" + email + "\",\"senha\":\"" + senha + "\"}"))
+				.andExpect(esperado);
+	}
+
+	private String cadastrar(String nome) {
+		String email = nome + "@login.neki.com";
+		administradorService.cadastrar(new AdministradorRequestDTO(nome, email, "segredo"));
+		return email;
+	}
+}
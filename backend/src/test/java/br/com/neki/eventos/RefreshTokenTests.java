@@ -0,0 +1,117 @@
+package br.com.neki.eventos;
+
+import br.com.neki.eventos.dto.AdministradorRequestDTO;
+import br.com.neki.eventos.dto.LoginResponseDTO;
+import br.com.neki.eventos.exception.RefreshTokenInvalidoException;
+import br.com.neki.eventos.model.Administrador;
+import br.com.neki.eventos.security.RevogacaoTokens;
+import br.com.neki.eventos.service.AdministradorService;
+import br.com.neki.eventos.service.RefreshTokenService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Rotação dos refresh tokens: cada token vale uma vez, e reapresentá-lo (inclusive em duas
+// renovações simultâneas) revoga a família inteira
+@SpringBootTest
+@ActiveProfiles("test")
+class RefreshTokenTests {
+
+	@Autowired
+	private RefreshTokenService refreshTokenService;
+
+	@Autowired
+	private AdministradorService administradorService;
+
+	@Autowired
+	private RevogacaoTokens revogacaoTokens;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void renovacaoTrocaOToken() {
+		LoginResponseDTO login = refreshTokenService.iniciarSessao(cadastrar("rotacao"));
+
+		LoginResponseDTO renovado = refreshTokenService.renovar(login.getRefreshToken());
+		assertNotEquals(login.getRefreshToken(), renovado.getRefreshToken());
+		assertNotNull(refreshTokenService.renovar(renovado.getRefreshToken()).getToken());
+	}
+
+	@Test
+	void reusoRevogaAFamilia() {
+		Administrador admin = cadastrar("reuso");
+		LoginResponseDTO login = refreshTokenService.iniciarSessao(admin);
+		LoginResponseDTO renovado = refreshTokenService.renovar(login.getRefreshToken());
+		int versao = revogacaoTokens.versaoAtual(admin.getId());
+
+		assertThrows(RefreshTokenInvalidoException.class, () -> refreshTokenService.renovar(login.getRefreshToken()));
+		assertThrows(RefreshTokenInvalidoException.class, () -> refreshTokenService.renovar(renovado.getRefreshToken()));
+		assertTrue(revogacaoTokens.revogado(admin.getId(), versao), "Access tokens emitidos deveriam ser revogados");
+	}
+
+	@Test
+	void tokenExpiradoNaoRenova() {
+		Administrador admin = cadastrar("expirado");
+		LoginResponseDTO login = refreshTokenService.iniciarSessao(admin);
+		jdbcTemplate.update("update refresh_tokens set expira_em = dateadd('DAY', -1, current_timestamp) "
+				+ "where administrador_id = ?", admin.getId());
+
+		assertThrows(RefreshTokenInvalidoException.class, () -> refreshTokenService.renovar(login.getRefreshToken()));
+	}
+
+	@Test
+	void renovacoesSimultaneasDoMesmoToken() throws Exception {
+		Administrador admin = cadastrar("simultaneo");
+		String refreshToken = refreshTokenService.iniciarSessao(admin).getRefreshToken();
+
+		int tentativas = 4;
+		CountDownLatch largada = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(tentativas);
+		List<Future<LoginResponseDTO>> renovacoes = new ArrayList<>();
+		try {
+			Callable<LoginResponseDTO> renovar = () -> {
+				largada.await();
+				return refreshTokenService.renovar(refreshToken);
+			};
+			for (int i = 0; i < tentativas; i++) {
+				renovacoes.add(executor.submit(renovar));
+			}
+			largada.countDown();
+
+			List<LoginResponseDTO> aceitas = new ArrayList<>();
+			for (Future<LoginResponseDTO> renovacao : renovacoes) {
+				try {
+					aceitas.add(renovacao.get());
+				} catch (ExecutionException e) {
+					assertInstanceOf(RefreshTokenInvalidoException.class, e.getCause());
+				}
+			}
+
+			// Só uma renovação vale, e o token que ela emitiu cai junto com a família
+			assertEquals(1, aceitas.size());
+			assertThrows(RefreshTokenInvalidoException.class,
+					() -> refreshTokenService.renovar(aceitas.get(0).getRefreshToken()));
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private Administrador cadastrar(String nome) {
+		administradorService.cadastrar(new AdministradorRequestDTO(nome, nome + "@refresh.neki.com", "segredo"));
+		return administradorService.buscarPorEmail(nome + "@refresh.neki.com").orElseThrow();
+	}
+}
@@ -0,0 +1,109 @@
+package br.com.neki.eventos;
+
+import br.com.neki.eventos.dto.AdministradorRequestDTO;
+import br.com.neki.eventos.dto.LoginResponseDTO;
+import br.com.neki.eventos.exception.RefreshTokenInvalidoException;
+import br.com.neki.eventos.model.Administrador;
+import br.com.neki.eventos.security.CacheAutenticacao;
+import br.com.neki.eventos.security.JwtService;
+import br.com.neki.eventos.security.RevogacaoTokens;
+import br.com.neki.eventos.service.AdministradorService;
+import br.com.neki.eventos.service.RefreshTokenService;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Um access token revogado é recusado já na requisição seguinte, mesmo que o principal dele
+// esteja no CacheAutenticacao: a primeira requisição de cada teste é o que põe a entrada no cache
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RevogacaoAccessTokenTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private AdministradorService administradorService;
+
+	@Autowired
+	private RefreshTokenService refreshTokenService;
+
+	@Autowired
+	private RevogacaoTokens revogacaoTokens;
+
+	@Autowired
+	private CacheAutenticacao cacheAutenticacao;
+
+	@Autowired
+	private JwtService jwtService;
+
+	@Test
+	void logoutRevogaOAccessToken() throws Exception {
+		LoginResponseDTO login = refreshTokenService.iniciarSessao(cadastrar("logout"));
+		listar(login.getToken(), status().isOk());
+
+		mockMvc.perform(post("/auth/logout")
+						.header(HttpHeaders.AUTHORIZATION, "Bearer " + login.getToken())
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"refreshToken\":\"" + login.getRefreshToken() + "\"}"))
+				.andExpect(status().isNoContent());
+
+		listar(login.getToken(), status().isUnauthorized());
+		assertThrows(RefreshTokenInvalidoException.class, () -> refreshTokenService.renovar(login.getRefreshToken()));
+	}
+
+	@Test
+	void jtiRevogadoComEntradaNoCache() throws Exception {
+		LoginResponseDTO login = refreshTokenService.iniciarSessao(cadastrar("jti"));
+		listar(login.getToken(), status().isOk());
+
+		// Revogação sem passar pelo logout deste nó: a entrada continua no cache
+		Claims claims = jwtService.validar(login.getToken()).orElseThrow();
+		revogacaoTokens.revogarToken(jwtService.extrairJti(claims), claims.getExpiration().getTime());
+		assertNotNull(cacheAutenticacao.buscar(login.getToken()));
+
+		listar(login.getToken(), status().isUnauthorized());
+	}
+
+	@Test
+	void reusoDoRefreshRevogaAccessTokensEmCache() throws Exception {
+		LoginResponseDTO login = refreshTokenService.iniciarSessao(cadastrar("versao"));
+		LoginResponseDTO renovado = refreshTokenService.renovar(login.getRefreshToken());
+		listar(login.getToken(), status().isOk());
+		listar(renovado.getToken(), status().isOk());
+
+		// Reapresentar o refresh já usado incrementa a versão do administrador
+		mockMvc.perform(post("/auth/refresh")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"refreshToken\":\"" + login.getRefreshToken() + "\"}"))
+				.andExpect(status().isUnauthorized());
+		assertNotNull(cacheAutenticacao.buscar(login.getToken()));
+		assertNotNull(cacheAutenticacao.buscar(renovado.getToken()));
+
+		listar(login.getToken(), status().isUnauthorized());
+		listar(renovado.getToken(), status().isUnauthorized());
+	}
+
+	private void listar(String token, ResultMatcher esperado) throws Exception {
+		mockMvc.perform(get("/eventos").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+				.andExpect(esperado);
+	}
+
+	private Administrador cadastrar(String nome) {
+		administradorService.cadastrar(new AdministradorRequestDTO(nome, nome + "@revogacao.neki.com", "segredo"));
+		return administradorService.buscarPorEmail(nome + "@revogacao.neki.com").orElseThrow();
+	}
+}
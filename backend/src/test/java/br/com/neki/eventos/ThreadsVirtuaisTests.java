@@ -0,0 +1,62 @@
+package br.com.neki.eventos;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Com spring.threads.virtual.enabled o corpo da exportação (StreamingResponseBody) é escrito numa thread virtual.
+// Um interceptador das respostas assíncronas guarda a thread em que a escrita começou.
+@SpringBootTest(properties = "spring.threads.virtual.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser
+class ThreadsVirtuaisTests {
+
+	private static final AtomicReference<Thread> THREAD_ESCRITA = new AtomicReference<>();
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void exportacaoRodaEmThreadVirtual() throws Exception {
+		MvcResult exportacao = mockMvc.perform(get("/eventos/export"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		mockMvc.perform(asyncDispatch(exportacao)).andExpect(status().isOk());
+
+		Thread thread = THREAD_ESCRITA.get();
+		assertNotNull(thread);
+		assertTrue(thread.isVirtual(), thread.toString());
+	}
+
+	@TestConfiguration
+	static class RegistroThread implements WebMvcConfigurer {
+
+		@Override
+		public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+			configurer.registerCallableInterceptors(new CallableProcessingInterceptor() {
+				@Override
+				public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+					THREAD_ESCRITA.set(Thread.currentThread());
+				}
+			});
+		}
+	}
+}
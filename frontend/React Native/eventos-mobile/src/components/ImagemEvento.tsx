@@ -2,7 +2,7 @@ import React, { useEffect, useState } from 'react';
 import { Image, View, Text, StyleSheet } from 'react-native';
 import AsyncStorage from '@react-native-async-storage/async-storage';
 import * as FileSystem from 'expo-file-system';
-import { API_BASE } from '../services/api';
+import { API_BASE, renovarSessao } from '../services/api';
 
 interface Props {
   imagemUrl?: string;
@@ -35,10 +35,19 @@ export default function ImagemEvento({ imagemUrl, alt, style }: Props) {
           FileSystem.cacheDirectory
         }evento_${Date.now()}.jpg`;
 
-        const res = await FileSystem.downloadAsync(url, localPath, {
+        let res = await FileSystem.downloadAsync(url, localPath, {
           headers: token ? { Authorization: `Bearer ${token}` } : {},
         });
 
+        if (res.status === 401) {
+          const renovado = await renovarSessao();
+          if (renovado) {
+            res = await FileSystem.downloadAsync(url, localPath, {
+              headers: { Authorization: `Bearer ${renovado}` },
+            });
+          }
+        }
+
         if (active) setSrc(res.uri);
       } catch (e) {
         console.error('Erro carregando imagem:', e);
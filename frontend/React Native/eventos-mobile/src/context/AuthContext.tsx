@@ -47,20 +47,29 @@ export function AuthProvider({ children }: { children: ReactNode }) {
   // Função de login
   const login = async (email: string, senha: string) => {
     const response = await api.post('/auth/login', { email, senha });
-    const { token, administrador } = response.data;
+    const { token, refreshToken, administrador } = response.data;
 
     setToken(token);
     setAdmin(administrador);
 
     await AsyncStorage.setItem('token', token);
+    await AsyncStorage.setItem('refreshToken', refreshToken);
     await AsyncStorage.setItem('admin', JSON.stringify(administrador));
   };
 
   // Função de logout
   const logout = async () => {
+    const refreshToken = await AsyncStorage.getItem('refreshToken');
+    try {
+      await api.post('/auth/logout', { refreshToken });
+    } catch {
+      // a sessão local é encerrada mesmo se o servidor não responder
+    }
+
     setToken(null);
     setAdmin(null);
     await AsyncStorage.removeItem('token');
+    await AsyncStorage.removeItem('refreshToken');
     await AsyncStorage.removeItem('admin');
   };
 
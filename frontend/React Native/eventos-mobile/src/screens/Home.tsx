@@ -10,7 +10,8 @@ import {
   RefreshControl,
 } from 'react-native';
 import { AuthContext } from '../context/AuthContext';
-import api from '../services/api';
+import AsyncStorage from '@react-native-async-storage/async-storage';
+import api, { renovarSessao } from '../services/api';
 import EventoCard from '../components/EventoCard';
 import EventoModal from '../components/EventoModal';
 import EventoEditModal, { Evento } from '../components/EventoEditModal';
@@ -94,13 +95,21 @@ export default function Home() {
 
         const base = (api as any)?.defaults?.baseURL ?? 'http://10.0.2.2:8080';
 
-        const res = await fetch(`${base}/eventos/upload`, {
-          method: 'POST',
-          headers: {
-            Authorization: `Bearer ${token}`,
-          },
-          body: form,
-        });
+        // O access token guardado pode ter sido renovado depois do login
+        const enviar = (tokenAtual: string | null) =>
+          fetch(`${base}/eventos/upload`, {
+            method: 'POST',
+            headers: {
+              Authorization: `Bearer ${tokenAtual}`,
+            },
+            body: form,
+          });
+
+        let res = await enviar(await AsyncStorage.getItem('token'));
+        if (res.status === 401) {
+          const renovado = await renovarSessao();
+          if (renovado) res = await enviar(renovado);
+        }
 
         if (!res.ok) {
           const text = await res.text().catch(() => '');
@@ -1,4 +1,4 @@
-import axios from 'axios';
+import axios, { AxiosError, InternalAxiosRequestConfig } from 'axios';
 import AsyncStorage from '@react-native-async-storage/async-storage';
 
 export const API_BASE = 'http://10.0.2.2:8080'; 
@@ -7,6 +7,8 @@ const api = axios.create({
   baseURL: API_BASE,
 });
 
+type RequisicaoRepetivel = InternalAxiosRequestConfig & { _renovado?: boolean };
+
 api.interceptors.request.use(async (config) => {
   const token = await AsyncStorage.getItem('token');
   if (token) {
@@ -16,4 +18,47 @@ api.interceptors.request.use(async (config) => {
   return config;
 });
 
+// Uma única renovação em andamento é compartilhada pelas requisições que receberem 401 ao mesmo tempo
+let renovacao: Promise<string | null> | null = null;
+
+export const renovarSessao = (): Promise<string | null> => {
+  if (!renovacao) {
+    renovacao = (async () => {
+      const refreshToken = await AsyncStorage.getItem('refreshToken');
+      if (!refreshToken) return null;
+
+      try {
+        const { data } = await api.post('/auth/refresh', { refreshToken });
+        await AsyncStorage.setItem('token', data.token);
+        await AsyncStorage.setItem('refreshToken', data.refreshToken);
+        return data.token as string;
+      } catch {
+        return null;
+      }
+    })().finally(() => {
+      renovacao = null;
+    });
+  }
+  return renovacao;
+};
+
+// Access token expirado: tenta renovar uma vez e repete a requisição
+api.interceptors.response.use(
+  (res) => res,
+  async (err: AxiosError) => {
+    const original = err.config as RequisicaoRepetivel | undefined;
+    const url = original?.url ?? '';
+
+    if (err.response?.status === 401 && original && !original._renovado && !url.startsWith('/auth')) {
+      original._renovado = true;
+      const token = await renovarSessao();
+      if (token) {
+        return api(original);
+      }
+    }
+
+    return Promise.reject(err);
+  }
+);
+
 export default api;
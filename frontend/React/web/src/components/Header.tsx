@@ -1,15 +1,13 @@
 import { useLocation, useNavigate } from 'react-router-dom';
 import logo from '../assets/neki-logo.png';
+import { encerrarSessao } from '../services/api';
 
 export default function Header() {
   const location = useLocation();
   const navigate = useNavigate();
 
-  const handleLogout = () => {
-    localStorage.removeItem('token');
-    sessionStorage.removeItem('token');
-    localStorage.removeItem('admin');
-    sessionStorage.removeItem('admin');
+  const handleLogout = async () => {
+    await encerrarSessao();
     navigate('/');
   };
 
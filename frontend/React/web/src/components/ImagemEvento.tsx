@@ -1,4 +1,5 @@
 import { useEffect, useState } from 'react';
+import { renovarSessao } from '../services/api';
 
 interface ImagemEventoProps {
   imagemUrl?: string;
@@ -28,11 +29,19 @@ export default function ImagemEvento({
       }
 
       try {
-        const token =
-          localStorage.getItem('token') || sessionStorage.getItem('token');
-        const response = await fetch(`http://localhost:8080${imagemUrl}`, {
-          headers: token ? { Authorization: `Bearer ${token}` } : {},
-        });
+        const buscar = (token: string | null) =>
+          fetch(`http://localhost:8080${imagemUrl}`, {
+            headers: token ? { Authorization: `Bearer ${token}` } : {},
+          });
+
+        let response = await buscar(
+          localStorage.getItem('token') || sessionStorage.getItem('token')
+        );
+
+        if (response.status === 401) {
+          const renovado = await renovarSessao();
+          if (renovado) response = await buscar(renovado);
+        }
 
         if (!response.ok) {
           setFailed(true);
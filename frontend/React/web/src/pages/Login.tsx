@@ -28,13 +28,15 @@ export default function Login() {
 
     try {
       const response = await api.post('/auth/login', { email, senha });
-      const { token, administrador } = response.data;
+      const { token, refreshToken, administrador } = response.data;
 
       if (lembrar) {
         localStorage.setItem('token', token);
+        localStorage.setItem('refreshToken', refreshToken);
         localStorage.setItem('credenciais', JSON.stringify({ email, senha }));
       } else {
         sessionStorage.setItem('token', token);
+        sessionStorage.setItem('refreshToken', refreshToken);
         localStorage.removeItem('credenciais');
       }
 
@@ -1,6 +1,8 @@
 import axios, { AxiosError } from 'axios';
 import type { InternalAxiosRequestConfig } from 'axios';
 
+type RequisicaoRepetivel = InternalAxiosRequestConfig & { _renovado?: boolean };
+
 const api = axios.create({
   baseURL: 'http://localhost:8080',
 });
@@ -16,11 +18,56 @@ api.interceptors.request.use((config: InternalAxiosRequestConfig) => {
   return config;
 });
 
+const limparSessao = () => {
+  localStorage.removeItem('token');
+  sessionStorage.removeItem('token');
+  localStorage.removeItem('refreshToken');
+  sessionStorage.removeItem('refreshToken');
+  localStorage.removeItem('admin');
+  sessionStorage.removeItem('admin');
+};
+
+// Uma única renovação em andamento é compartilhada pelas requisições que receberem 401 ao mesmo tempo
+let renovacao: Promise<string | null> | null = null;
+
+export const renovarSessao = (): Promise<string | null> => {
+  if (!renovacao) {
+    renovacao = (async () => {
+      const storage = localStorage.getItem('refreshToken') ? localStorage : sessionStorage;
+      const refreshToken = storage.getItem('refreshToken');
+      if (!refreshToken) return null;
+
+      try {
+        const { data } = await api.post('/auth/refresh', { refreshToken });
+        storage.setItem('token', data.token);
+        storage.setItem('refreshToken', data.refreshToken);
+        return data.token as string;
+      } catch {
+        return null;
+      }
+    })().finally(() => {
+      renovacao = null;
+    });
+  }
+  return renovacao;
+};
+
+export const encerrarSessao = async () => {
+  const refreshToken = localStorage.getItem('refreshToken') || sessionStorage.getItem('refreshToken');
+  try {
+    await api.post('/auth/logout', { refreshToken });
+  } catch {
+    // a sessão local é encerrada mesmo se o servidor não responder
+  }
+  limparSessao();
+};
+
 api.interceptors.response.use(
   (res) => res,
-  (err: AxiosError) => {
+  async (err: AxiosError) => {
     const status = err?.response?.status;
     const url = (err?.config?.url || '') as string;
+    const original = err.config as RequisicaoRepetivel | undefined;
 
     const isAuthRequest = url.startsWith('/auth');
     const isImageRequest = url.includes('/eventos/') && url.includes('/imagem');
@@ -29,11 +76,17 @@ api.interceptors.response.use(
       return Promise.reject(err);
     }
 
+    // Access token expirado: tenta renovar uma vez e repete a requisição
+    if (status === 401 && !isAuthRequest && original && !original._renovado) {
+      original._renovado = true;
+      const token = await renovarSessao();
+      if (token) {
+        return api(original);
+      }
+    }
+
     if ((status === 401 || status === 403) && !isAuthRequest) {
-      localStorage.removeItem('token');
-      sessionStorage.removeItem('token');
-      localStorage.removeItem('admin');
-      sessionStorage.removeItem('admin');
+      limparSessao();
 
       if (window.location.pathname !== '/') {
         window.location.href = '/';